@@ -0,0 +1,237 @@
+package io.github.stuff_stuffs.event_gen.benchmark;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventBuffer;
+import io.github.stuff_stuffs.event_gen.api.event.runtime.RuntimeEventInfo;
+import io.github.stuff_stuffs.event_gen.api.event.runtime.RuntimeEvents;
+import io.github.stuff_stuffs.event_gen.benchmark.events.BenchmarkEvents;
+import io.github.stuff_stuffs.event_gen.benchmark.events.MutableSubject;
+import io.github.stuff_stuffs.event_gen.benchmark.events.gen.Allow;
+import io.github.stuff_stuffs.event_gen.benchmark.events.gen.Fire;
+import io.github.stuff_stuffs.event_gen.benchmark.events.gen.Generic;
+import io.github.stuff_stuffs.event_gen.benchmark.events.gen.Modify;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+    private static final int BATCH = 64;
+    @Param({"0", "1", "4", "16", "128"})
+    public int listeners;
+    private final MutableSubject subject = new MutableSubject();
+    private final List<Integer> values = List.of(1, 2, 3);
+    private Fire fire;
+    private Fire linkedFire;
+    private Fire runtimeFire;
+    private Fire isolatedFire;
+    private Fire viewFire;
+    private Fire delayedFire;
+    private EventBuffer<Fire> fireBuffer;
+    private Modify modify;
+    private Generic generic;
+    private Allow allow;
+    private int blackhole;
+
+    @Setup
+    public void setup() {
+        final List<Fire> fires = new ArrayList<>();
+        final List<Fire> viewFires = new ArrayList<>();
+        final List<Modify> modifies = new ArrayList<>();
+        final List<Generic> generics = new ArrayList<>();
+        final List<Allow> allows = new ArrayList<>();
+        for (int i = 0; i < listeners; i++) {
+            fires.add(fireListener(i));
+            viewFires.add(Fire.factory().convert(viewListener(i)));
+            modifies.add(modifyListener(i));
+            generics.add(genericListener(i));
+            allows.add(allowListener(i));
+        }
+        fire = Fire.factory().invoker(fires);
+        linkedFire = Fire.factory().link(fires.toArray(new Fire[0])).invoker();
+        isolatedFire = Fire.isolatedInvoker(fires.toArray(new Fire[0]), (event, listener, exception, quarantined) -> {
+        }, 0);
+        runtimeFire = RuntimeEvents.factory(MethodHandles.lookup(), Fire.class, Fire.View.class, RuntimeEventInfo.<Fire>of()).invoker(fires);
+        viewFire = Fire.factory().invoker(viewFires);
+        delayedFire = Fire.factory().delay(fire, Runnable::run);
+        fireBuffer = Fire.factory().buffer(fire, BATCH);
+        modify = Modify.factory().invoker(modifies);
+        generic = Generic.factory().invoker(generics);
+        allow = Allow.factory().invoker(allows);
+    }
+
+    @Benchmark
+    public int fire() {
+        fire.onFire(1, subject);
+        return subject.get();
+    }
+
+    @Benchmark
+    public int fireLinked() {
+        linkedFire.onFire(1, subject);
+        return subject.get();
+    }
+
+    @Benchmark
+    public int fireIsolated() {
+        isolatedFire.onFire(1, subject);
+        return subject.get();
+    }
+
+    @Benchmark
+    public int fireRuntime() {
+        runtimeFire.onFire(1, subject);
+        return subject.get();
+    }
+
+    @Benchmark
+    public int fireView() {
+        viewFire.onFire(1, subject);
+        return subject.get();
+    }
+
+    @Benchmark
+    public int modify() {
+        return modify.onModify(1, subject);
+    }
+
+    @Benchmark
+    public int generic() {
+        generic.onGeneric(1, values);
+        return subject.get();
+    }
+
+    @Benchmark
+    public boolean allow() {
+        return allow.onAllow(subject);
+    }
+
+    @Benchmark
+    public int fireDelayed() {
+        delayedFire.onFire(1, subject);
+        return subject.get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int fireBuffered() {
+        final Fire sink = fireBuffer.sink();
+        for (int i = 0; i < BATCH; i++) {
+            sink.onFire(i, subject);
+        }
+        fireBuffer.drain();
+        return subject.get();
+    }
+
+    private Fire fireListener(final int index) {
+        return switch (index & 3) {
+            case 0 -> (amount, subject) -> subject.set(subject.get() + amount);
+            case 1 -> (amount, subject) -> subject.set(subject.get() - amount);
+            case 2 -> (amount, subject) -> subject.set(subject.get() ^ amount);
+            default -> (amount, subject) -> subject.set(amount);
+        };
+    }
+
+    private Fire.View viewListener(final int index) {
+        return switch (index & 3) {
+            case 0 -> (amount, subject) -> blackhole = subject.get() + amount;
+            case 1 -> (amount, subject) -> blackhole = subject.get() - amount;
+            case 2 -> (amount, subject) -> blackhole = subject.get() ^ amount;
+            default -> (amount, subject) -> blackhole = amount;
+        };
+    }
+
+    private Modify modifyListener(final int index) {
+        return switch (index & 3) {
+            case 0 -> (base, subject) -> base + 1;
+            case 1 -> (base, subject) -> base - subject.get();
+            case 2 -> (base, subject) -> base ^ subject.get();
+            default -> (base, subject) -> base;
+        };
+    }
+
+    private Generic genericListener(final int index) {
+        return switch (index & 3) {
+            case 0 -> new Generic() {
+                @Override
+                public <T extends Number> void onGeneric(final T value, final List<T> values) {
+                    subject.set(value.intValue());
+                }
+            };
+            case 1 -> new Generic() {
+                @Override
+                public <T extends Number> void onGeneric(final T value, final List<T> values) {
+                    subject.set(values.size());
+                }
+            };
+            case 2 -> new Generic() {
+                @Override
+                public <T extends Number> void onGeneric(final T value, final List<T> values) {
+                    subject.set(subject.get() + value.intValue());
+                }
+            };
+            default -> new Generic() {
+                @Override
+                public <T extends Number> void onGeneric(final T value, final List<T> values) {
+                    subject.set(values.get(0).intValue());
+                }
+            };
+        };
+    }
+
+    private Allow allowListener(final int index) {
+        return switch (index & 3) {
+            case 0 -> new Allow() {
+                @Override
+                public int ord() {
+                    return index;
+                }
+
+                @Override
+                public boolean onAllow(final BenchmarkEvents.Subject subject) {
+                    return subject.get() != Integer.MIN_VALUE;
+                }
+            };
+            case 1 -> new Allow() {
+                @Override
+                public int ord() {
+                    return -index;
+                }
+
+                @Override
+                public boolean onAllow(final BenchmarkEvents.Subject subject) {
+                    return true;
+                }
+            };
+            case 2 -> new Allow() {
+                @Override
+                public int ord() {
+                    return 0;
+                }
+
+                @Override
+                public boolean onAllow(final BenchmarkEvents.Subject subject) {
+                    return subject.get() != Integer.MAX_VALUE;
+                }
+            };
+            default -> new Allow() {
+                @Override
+                public int ord() {
+                    return 1;
+                }
+
+                @Override
+                public boolean onAllow(final BenchmarkEvents.Subject subject) {
+                    return index >= 0;
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.stuff_stuffs.event_gen.benchmark.events;
+
+import io.github.stuff_stuffs.event_gen.api.event.gen.*;
+
+import java.util.List;
+
+@EventPackageLocation("io.github.stuff_stuffs.event_gen.benchmark.events.gen")
+@EventKeyLocation(location = "io.github.stuff_stuffs.event_gen.benchmark.events.gen.BenchmarkEventKeys")
+public interface BenchmarkEvents {
+    @EventBuffered
+    @EventIsolated
+    @EventLinked
+    @EventInfo
+    void Fire(int amount, Subject subject);
+
+    @EventInfo(combiner = EventInfo.SUM)
+    int Modify(int base, Subject subject);
+
+    @EventInfo
+    <T extends Number> void Generic(T value, List<T> values);
+
+    @EventComparisonInfo(comparedType = int.class)
+    @EventInfo(combiner = EventInfo.AND)
+    boolean Allow(Subject subject);
+
+    @EventViewable(viewClass = SubjectView.class)
+    interface Subject extends SubjectView {
+        void set(int value);
+    }
+
+    interface SubjectView {
+        int get();
+    }
+}
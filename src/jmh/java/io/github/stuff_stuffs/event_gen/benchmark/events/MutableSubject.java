@@ -0,0 +1,15 @@
+package io.github.stuff_stuffs.event_gen.benchmark.events;
+
+public final class MutableSubject implements BenchmarkEvents.Subject {
+    private int value;
+
+    @Override
+    public void set(final int value) {
+        this.value = value;
+    }
+
+    @Override
+    public int get() {
+        return value;
+    }
+}
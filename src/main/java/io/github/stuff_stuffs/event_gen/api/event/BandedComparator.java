@@ -0,0 +1,17 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+
+public interface BandedComparator<T> extends Comparator<T> {
+    int band(T value);
+
+    @Override
+    default int compare(final T first, final T second) {
+        return Integer.compare(band(first), band(second));
+    }
+
+    static <T> BandedComparator<T> of(final ToIntFunction<T> band) {
+        return band::applyAsInt;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+//Not thread safe, pushes through the sink and drains must come from one thread at a time
+public interface EventBuffer<Mut> {
+    Mut sink();
+
+    int size();
+
+    //Delivers events pushed while draining too. If the delegate throws, the event it threw on counts as delivered and the
+    //rest stays queued for the next drain
+    void drain();
+}
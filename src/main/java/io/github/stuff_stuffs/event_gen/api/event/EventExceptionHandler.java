@@ -0,0 +1,6 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+public interface EventExceptionHandler {
+    //Quarantined is true when this failure removed the listener from the invoker
+    void listenerFailed(Class<?> event, Object listener, RuntimeException exception, boolean quarantined);
+}
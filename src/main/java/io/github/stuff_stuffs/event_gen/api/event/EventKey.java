@@ -2,14 +2,76 @@ package io.github.stuff_stuffs.event_gen.api.event;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
-public record EventKey<Mut, View>(Class<Mut> mut, Class<View> view, /*Nullable*/ Comparator<Mut> comparator) {
+public record EventKey<Mut, View>(int id, Class<Mut> mut, Class<View> view, /*Nullable*/ Comparator<Mut> comparator, /*Nullable*/ Factory<Mut, View> factory) {
+    //Ids are dense across every key in the process, so registries index them directly. A generated key file reserves one
+    //block for its KEYS in field name order, ids are only stable relative to the first key of the file
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    public EventKey(final Class<Mut> mut, final Class<View> view, /*Nullable*/ final Comparator<Mut> comparator) {
+        this(reserve(1), mut, view, comparator, null);
+    }
+
+    public static int reserve(final int count) {
+        final int base = NEXT_ID.getAndAdd(count);
+        if (base < 0 || base + count < 0) {
+            throw new IllegalStateException("Ran out of event key ids!");
+        }
+        return base;
+    }
+
+    //Every key has its own id, so identity equality never hashes the comparator or the factory
+    @Override
+    public boolean equals(final Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    public Factory<Mut, View> requireFactory() {
+        if (factory == null) {
+            throw new IllegalStateException("Event key has no factory: " + mut.getName());
+        }
+        return factory;
+    }
+
     public interface Factory<Mut, View> {
         Mut convert(View view);
 
         Mut invoker(List<Mut> events);
 
+        Mut invoker(Mut[] events);
+
         Mut delay(Mut delegate, Consumer<Runnable> delayConsumer);
+
+        //Only events annotated with @EventBuffered support it
+        default EventBuffer<Mut> buffer(final Mut delegate, final int capacity) {
+            throw new UnsupportedOperationException("Event does not support buffering, annotate it with @EventBuffered!");
+        }
+
+        default boolean supportsLinking() {
+            return false;
+        }
+
+        //Every call creates a new call site, only events annotated with @EventLinked support it
+        default EventLink<Mut> link(final Mut[] events) {
+            throw new UnsupportedOperationException("Event does not support linking, annotate it with @EventLinked!");
+        }
+
+        default boolean supportsObservers() {
+            return false;
+        }
+
+        //Runs the invoker, then one executor task hands every observer the same argument references in order,
+        //only events annotated with @EventObserved support it
+        default Mut observed(final Mut invoker, final View[] observers, final Executor executor) {
+            throw new UnsupportedOperationException("Event does not support observers, annotate it with @EventObserved!");
+        }
     }
 }
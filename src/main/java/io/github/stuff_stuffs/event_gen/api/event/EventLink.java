@@ -0,0 +1,8 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+//Owns one call site, the invoker stays the same instance and picks up every relink
+public interface EventLink<Mut> {
+    Mut invoker();
+
+    void relink(Mut[] events);
+}
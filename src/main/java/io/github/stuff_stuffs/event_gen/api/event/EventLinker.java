@@ -0,0 +1,42 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+public final class EventLinker {
+    public static MethodHandle fold(final MethodHandle event, final Object[] listeners) {
+        final MethodType type = event.type().dropParameterTypes(0, 1);
+        if (type.returnType() != void.class) {
+            throw new IllegalArgumentException("Non-void events require a combiner!");
+        }
+        MethodHandle handle = MethodHandles.empty(type);
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            handle = MethodHandles.foldArguments(handle, event.bindTo(listeners[i]));
+        }
+        return handle;
+    }
+
+    public static MethodHandle fold(final MethodHandle event, final Object[] listeners, final MethodHandle initial, final MethodHandle combine, /*Nullable*/ final MethodHandle absorbing) {
+        final MethodType type = event.type().dropParameterTypes(0, 1);
+        final List<Class<?>> parameters = type.parameterList();
+        final Class<?> result = type.returnType();
+        MethodHandle handle = MethodHandles.dropArguments(initial, 0, parameters);
+        for (final Object listener : listeners) {
+            MethodHandle step = MethodHandles.collectArguments(combine, 1, event.bindTo(listener));
+            if (absorbing != null) {
+                step = MethodHandles.guardWithTest(
+                        MethodHandles.dropArguments(absorbing, 1, parameters),
+                        MethodHandles.dropArguments(MethodHandles.identity(result), 1, parameters),
+                        step
+                );
+            }
+            handle = MethodHandles.foldArguments(step, handle);
+        }
+        return handle;
+    }
+
+    private EventLinker() {
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.lang.reflect.Array;
+import java.util.Comparator;
+
+public final class EventListenerSet<Mut> {
+    private final EventKey<Mut, ?> key;
+    private final EventKey.Factory<Mut, ?> factory;
+    private final Mut[] listeners;
+    private final /*Nullable*/ int[] bands;
+    private final long version;
+    //Benign race, invokers only hold final state so a duplicate build is harmless
+    private /*Nullable*/ Mut invoker;
+
+    private EventListenerSet(final EventKey<Mut, ?> key, final EventKey.Factory<Mut, ?> factory, final Mut[] listeners, /*Nullable*/ final int[] bands, final long version) {
+        this.key = key;
+        this.factory = factory;
+        this.listeners = listeners;
+        this.bands = bands;
+        this.version = version;
+    }
+
+    public static <Mut> EventListenerSet<Mut> empty(final EventKey<Mut, ?> key) {
+        return empty(key, key.requireFactory());
+    }
+
+    public static <Mut> EventListenerSet<Mut> empty(final EventKey<Mut, ?> key, final EventKey.Factory<Mut, ?> factory) {
+        return new EventListenerSet<>(key, factory, newArray(key.mut(), 0), key.comparator() instanceof BandedComparator<Mut> ? new int[0] : null, 0);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return listeners.length;
+    }
+
+    public Mut get(final int index) {
+        return listeners[index];
+    }
+
+    public boolean contains(final Mut listener) {
+        return indexOf(listener) != -1;
+    }
+
+    public Mut invoker() {
+        Mut built = invoker;
+        if (built == null) {
+            built = factory.invoker(listeners);
+            invoker = built;
+        }
+        return built;
+    }
+
+    public EventListenerSet<Mut> with(final Mut listener) {
+        final int index;
+        int[] nextBands = null;
+        if (bands != null) {
+            final int band = ((BandedComparator<Mut>) key.comparator()).band(listener);
+            index = upperBound(band);
+            nextBands = new int[bands.length + 1];
+            System.arraycopy(bands, 0, nextBands, 0, index);
+            nextBands[index] = band;
+            System.arraycopy(bands, index, nextBands, index + 1, bands.length - index);
+        } else {
+            index = upperBound(listener);
+        }
+        final Mut[] next = newArray(listeners.length + 1);
+        System.arraycopy(listeners, 0, next, 0, index);
+        next[index] = listener;
+        System.arraycopy(listeners, index, next, index + 1, listeners.length - index);
+        return new EventListenerSet<>(key, factory, next, nextBands, version + 1);
+    }
+
+    //Removes by identity, returns this set when the listener is absent
+    public EventListenerSet<Mut> without(final Mut listener) {
+        final int index = indexOf(listener);
+        if (index == -1) {
+            return this;
+        }
+        final Mut[] next = newArray(listeners.length - 1);
+        System.arraycopy(listeners, 0, next, 0, index);
+        System.arraycopy(listeners, index + 1, next, index, next.length - index);
+        int[] nextBands = null;
+        if (bands != null) {
+            nextBands = new int[next.length];
+            System.arraycopy(bands, 0, nextBands, 0, index);
+            System.arraycopy(bands, index + 1, nextBands, index, nextBands.length - index);
+        }
+        return new EventListenerSet<>(key, factory, next, nextBands, version + 1);
+    }
+
+    EventListenerSet<Mut> cleared() {
+        return new EventListenerSet<>(key, factory, newArray(0), bands == null ? null : new int[0], version + 1);
+    }
+
+    Mut[] listeners() {
+        return listeners;
+    }
+
+    private int indexOf(final Mut listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int upperBound(final Mut listener) {
+        final Comparator<Mut> comparator = key.comparator();
+        if (comparator == null) {
+            return listeners.length;
+        }
+        int low = 0;
+        int high = listeners.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (comparator.compare(listeners[mid], listener) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(final int band) {
+        int low = 0;
+        int high = bands.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (bands[mid] <= band) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Mut[] newArray(final int size) {
+        return newArray(key.mut(), size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Mut> Mut[] newArray(final Class<Mut> type, final int size) {
+        return (Mut[]) Array.newInstance(type, size);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+public final class EventReductions {
+    public static <R> R reduce(final ForkJoinPool pool, final int size, final int threshold, final RangeReducer<R> reducer, final BinaryOperator<R> combiner) {
+        if (size <= threshold) {
+            return reducer.reduce(0, size);
+        }
+        return pool.invoke(new ReduceTask<>(0, size, Math.max(threshold, 1), reducer, combiner));
+    }
+
+    public interface RangeReducer<R> {
+        R reduce(int from, int to);
+    }
+
+    //Only ever run in the pool, never serialized
+    @SuppressWarnings("serial")
+    private static final class ReduceTask<R> extends RecursiveTask<R> {
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final RangeReducer<R> reducer;
+        private final BinaryOperator<R> combiner;
+
+        private ReduceTask(final int from, final int to, final int threshold, final RangeReducer<R> reducer, final BinaryOperator<R> combiner) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.reducer = reducer;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= threshold) {
+                return reducer.reduce(from, to);
+            }
+            final int mid = (from + to) >>> 1;
+            final ReduceTask<R> left = new ReduceTask<>(from, mid, threshold, reducer, combiner);
+            left.fork();
+            final R right = new ReduceTask<>(mid, to, threshold, reducer, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+
+    private EventReductions() {
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Array;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class EventRegistry {
+    //Key ids are dense across every key file, so each key resolves with one array load. Growth swaps in a larger copy
+    private final Object lock = new Object();
+    private volatile AtomicReferenceArray<Entry<?, ?>> slots = new AtomicReferenceArray<>(16);
+    private final boolean linked;
+    private final /*Nullable*/ Executor observerExecutor;
+
+    public EventRegistry() {
+        this(false, null);
+    }
+
+    //Linked registries give every entry whose factory supports linking one call site, relinked on each register and
+    //unregister, so invokers handed out earlier stay current. Other entries hand out a new invoker per change
+    public EventRegistry(final boolean linked, /*Nullable*/ final Executor observerExecutor) {
+        this.linked = linked;
+        this.observerExecutor = observerExecutor;
+    }
+
+    public <Mut, View> Entry<Mut, View> register(final EventKey<Mut, View> key) {
+        return register(key, key.requireFactory());
+    }
+
+    public <Mut, View> Entry<Mut, View> register(final EventKey<Mut, View> key, final EventKey.Factory<Mut, View> factory) {
+        final Entry<?, ?> existing = find(key);
+        if (existing != null) {
+            return cast(existing);
+        }
+        synchronized (lock) {
+            AtomicReferenceArray<Entry<?, ?>> current = slots;
+            final int id = key.id();
+            if (id >= current.length()) {
+                final AtomicReferenceArray<Entry<?, ?>> grown = new AtomicReferenceArray<>(Math.max(current.length() * 2, id + 1));
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                slots = grown;
+                current = grown;
+            }
+            final Entry<?, ?> raced = current.get(id);
+            if (raced != null) {
+                return cast(raced);
+            }
+            final Entry<Mut, View> entry = new Entry<>(key, factory, this);
+            current.set(id, entry);
+            return entry;
+        }
+    }
+
+    public <Mut, View> Entry<Mut, View> get(final EventKey<Mut, View> key) {
+        final Entry<?, ?> entry = find(key);
+        if (entry == null) {
+            throw new IllegalStateException("Unregistered event key: " + key.mut().getName());
+        }
+        return cast(entry);
+    }
+
+    public <Mut, View> Mut invoker(final EventKey<Mut, View> key) {
+        return get(key).invoker();
+    }
+
+    private /*Nullable*/ Entry<?, ?> find(final EventKey<?, ?> key) {
+        final AtomicReferenceArray<Entry<?, ?>> current = slots;
+        final int id = key.id();
+        return id < current.length() ? current.get(id) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Mut, View> Entry<Mut, View> cast(final Entry<?, ?> entry) {
+        return (Entry<Mut, View>) entry;
+    }
+
+    public static final class Entry<Mut, View> {
+        private static final VarHandle STATE;
+        private final EventKey<Mut, View> key;
+        private final EventKey.Factory<Mut, View> factory;
+        private final EventRegistry registry;
+        private volatile State<Mut, View> state;
+        private final /*Nullable*/ EventLink<Mut> link;
+        private long linkedVersion;
+        private volatile /*Nullable*/ EventRoutes<Object, Mut> routes;
+
+        private Entry(final EventKey<Mut, View> key, final EventKey.Factory<Mut, View> factory, final EventRegistry registry) {
+            this.key = key;
+            this.factory = factory;
+            this.registry = registry;
+            final EventListenerSet<Mut> listeners = EventListenerSet.empty(key, factory);
+            state = new State<>(listeners, newViewArray(0), null);
+            link = registry.linked && factory.supportsLinking() ? factory.link(listeners.listeners()) : null;
+            linkedVersion = listeners.version();
+        }
+
+        public EventKey<Mut, View> key() {
+            return key;
+        }
+
+        public EventListenerSet<Mut> listeners() {
+            return state.listeners;
+        }
+
+        public void register(final Mut listener) {
+            State<Mut, View> current;
+            State<Mut, View> next;
+            do {
+                current = state;
+                next = new State<>(current.listeners.with(listener), current.observers, null);
+            } while (!STATE.compareAndSet(this, current, next));
+            relink();
+        }
+
+        public boolean unregister(final Mut listener) {
+            State<Mut, View> current;
+            State<Mut, View> next;
+            do {
+                current = state;
+                final EventListenerSet<Mut> listeners = current.listeners.without(listener);
+                if (listeners == current.listeners) {
+                    return false;
+                }
+                next = new State<>(listeners, current.observers, null);
+            } while (!STATE.compareAndSet(this, current, next));
+            relink();
+            return true;
+        }
+
+        public void registerView(final View listener) {
+            register(factory.convert(listener));
+        }
+
+        public void registerObserver(final View observer) {
+            if (registry.observerExecutor == null) {
+                throw new IllegalStateException("Registry has no observer executor!");
+            }
+            if (!factory.supportsObservers()) {
+                throw new UnsupportedOperationException("Event does not support observers, annotate it with @EventObserved: " + key.mut().getName());
+            }
+            State<Mut, View> current;
+            State<Mut, View> next;
+            do {
+                current = state;
+                final View[] observers = newViewArray(current.observers.length + 1);
+                System.arraycopy(current.observers, 0, observers, 0, current.observers.length);
+                observers[current.observers.length] = observer;
+                next = new State<>(current.listeners, observers, null);
+            } while (!STATE.compareAndSet(this, current, next));
+        }
+
+        public boolean unregisterObserver(final View observer) {
+            State<Mut, View> current;
+            State<Mut, View> next;
+            do {
+                current = state;
+                int index = -1;
+                for (int i = 0; i < current.observers.length; i++) {
+                    if (current.observers[i] == observer) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index == -1) {
+                    return false;
+                }
+                final View[] observers = newViewArray(current.observers.length - 1);
+                System.arraycopy(current.observers, 0, observers, 0, index);
+                System.arraycopy(current.observers, index + 1, observers, index, observers.length - index);
+                next = new State<>(current.listeners, observers, null);
+            } while (!STATE.compareAndSet(this, current, next));
+            return true;
+        }
+
+        public Mut invoker() {
+            final State<Mut, View> current = state;
+            final Mut invoker = current.invoker;
+            if (invoker != null) {
+                return invoker;
+            }
+            final Mut mutating = link != null ? link.invoker() : current.listeners.invoker();
+            final Mut built = current.observers.length == 0 ? mutating : factory.observed(mutating, current.observers, registry.observerExecutor);
+            STATE.compareAndSet(this, current, new State<>(current.listeners, current.observers, built));
+            return built;
+        }
+
+        //Routed listeners are kept apart from the listeners and observers of the entry itself
+        public EventRoutes<Object, Mut> routes() {
+            EventRoutes<Object, Mut> current = routes;
+            if (current == null) {
+                synchronized (this) {
+                    current = routes;
+                    if (current == null) {
+                        current = EventRoutes.create(key, factory);
+                        routes = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        //Runs after every listener change, a thread that lost the race to a newer listener set must not relink over it
+        private void relink() {
+            if (link == null) {
+                return;
+            }
+            synchronized (link) {
+                final EventListenerSet<Mut> listeners = state.listeners;
+                if (listeners.version() > linkedVersion) {
+                    link.relink(listeners.listeners());
+                    linkedVersion = listeners.version();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private View[] newViewArray(final int size) {
+            return (View[]) Array.newInstance(key.view(), size);
+        }
+
+        static {
+            try {
+                STATE = MethodHandles.lookup().findVarHandle(Entry.class, "state", State.class);
+            } catch (final ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    private record State<Mut, View>(EventListenerSet<Mut> listeners, View[] observers, /*Nullable*/ Mut invoker) {
+    }
+}
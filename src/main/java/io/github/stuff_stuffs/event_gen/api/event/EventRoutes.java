@@ -0,0 +1,286 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//Integral routes are keyed by value in their own table, so 5 and 5L are the same route and long lookups never box
+public final class EventRoutes<K, Mut> {
+    //Stands in for the null route, the object table can not hold null keys
+    private static final Object NULL_ROUTE = new Object();
+    private final Object lock = new Object();
+    private final Bucket<Mut> removed = new Bucket<>(null, null);
+    private final ConcurrentHashMap<Object, Bucket<Mut>> objects = new ConcurrentHashMap<>();
+    private volatile LongTable<Mut> longs = new LongTable<>(8);
+    private volatile EventListenerSet<Mut> wildcards;
+    private volatile int routeCount;
+
+    private EventRoutes(final EventKey<Mut, ?> key, final EventKey.Factory<Mut, ?> factory) {
+        wildcards = EventListenerSet.empty(key, factory);
+    }
+
+    public static <K, Mut> EventRoutes<K, Mut> create(final EventKey<Mut, ?> key) {
+        return create(key, key.requireFactory());
+    }
+
+    public static <K, Mut> EventRoutes<K, Mut> create(final EventKey<Mut, ?> key, final EventKey.Factory<Mut, ?> factory) {
+        return new EventRoutes<>(key, factory);
+    }
+
+    public Mut invoker(/*Nullable*/ final K route) {
+        if (isIntegral(route)) {
+            return invoker(integralValue(route));
+        }
+        final Bucket<Mut> bucket = objects.get(route == null ? NULL_ROUTE : route);
+        return bucket == null ? wildcards.invoker() : bucket.listeners.invoker();
+    }
+
+    public Mut invoker(final long route) {
+        final Bucket<Mut> bucket = longs.get(route);
+        return bucket == null || bucket.routed == null ? wildcards.invoker() : bucket.listeners.invoker();
+    }
+
+    public Mut wildcard() {
+        return wildcards.invoker();
+    }
+
+    public int routeCount() {
+        return routeCount;
+    }
+
+    public void register(/*Nullable*/ final K route, final Mut listener) {
+        if (isIntegral(route)) {
+            register(integralValue(route), listener);
+            return;
+        }
+        final Object key = route == null ? NULL_ROUTE : route;
+        synchronized (lock) {
+            objects.put(key, with(objects.get(key), listener));
+        }
+    }
+
+    public void register(final long route, final Mut listener) {
+        synchronized (lock) {
+            final LongTable<Mut> table = longs;
+            final int slot = table.slot(route);
+            putLong(route, with(table.buckets.get(slot), listener));
+        }
+    }
+
+    public boolean unregister(/*Nullable*/ final K route, final Mut listener) {
+        if (isIntegral(route)) {
+            return unregister(integralValue(route), listener);
+        }
+        final Object key = route == null ? NULL_ROUTE : route;
+        synchronized (lock) {
+            final Bucket<Mut> bucket = objects.get(key);
+            final Bucket<Mut> next = without(bucket, listener);
+            if (next == bucket) {
+                return false;
+            }
+            if (next == removed) {
+                objects.remove(key);
+            } else {
+                objects.put(key, next);
+            }
+            return true;
+        }
+    }
+
+    public boolean unregister(final long route, final Mut listener) {
+        synchronized (lock) {
+            final LongTable<Mut> table = longs;
+            final Bucket<Mut> bucket = table.buckets.get(table.slot(route));
+            final Bucket<Mut> next = without(bucket, listener);
+            if (next == bucket) {
+                return false;
+            }
+            putLong(route, next);
+            return true;
+        }
+    }
+
+    //Wildcard listeners join every route, so only these rebuild every bucket
+    public void registerWildcard(final Mut listener) {
+        synchronized (lock) {
+            wildcards = wildcards.with(listener);
+            objects.replaceAll((route, bucket) -> new Bucket<>(bucket.routed, bucket.listeners.with(listener)));
+            final LongTable<Mut> table = longs;
+            for (int i = 0; i < table.keys.length; i++) {
+                final Bucket<Mut> bucket = table.buckets.get(i);
+                if (bucket != null && bucket.routed != null) {
+                    table.buckets.set(i, new Bucket<>(bucket.routed, bucket.listeners.with(listener)));
+                }
+            }
+        }
+    }
+
+    public boolean unregisterWildcard(final Mut listener) {
+        synchronized (lock) {
+            final EventListenerSet<Mut> next = wildcards.without(listener);
+            if (next == wildcards) {
+                return false;
+            }
+            wildcards = next;
+            objects.replaceAll((route, bucket) -> new Bucket<>(bucket.routed, bucket.listeners.without(listener)));
+            final LongTable<Mut> table = longs;
+            for (int i = 0; i < table.keys.length; i++) {
+                final Bucket<Mut> bucket = table.buckets.get(i);
+                if (bucket != null && bucket.routed != null) {
+                    table.buckets.set(i, new Bucket<>(bucket.routed, bucket.listeners.without(listener)));
+                }
+            }
+            return true;
+        }
+    }
+
+    private Bucket<Mut> with(/*Nullable*/ final Bucket<Mut> bucket, final Mut listener) {
+        if (bucket == null || bucket.routed == null) {
+            routeCount++;
+            return new Bucket<>(wildcards.cleared().with(listener), wildcards.with(listener));
+        }
+        return new Bucket<>(bucket.routed.with(listener), bucket.listeners.with(listener));
+    }
+
+    private /*Nullable*/ Bucket<Mut> without(/*Nullable*/ final Bucket<Mut> bucket, final Mut listener) {
+        if (bucket == null || bucket.routed == null) {
+            return bucket;
+        }
+        final EventListenerSet<Mut> routed = bucket.routed.without(listener);
+        if (routed == bucket.routed) {
+            return bucket;
+        }
+        if (routed.size() == 0) {
+            routeCount--;
+            return removed;
+        }
+        return new Bucket<>(routed, bucket.listeners.without(listener));
+    }
+
+    private void putLong(final long route, final Bucket<Mut> bucket) {
+        LongTable<Mut> table = longs;
+        int slot = table.slot(route);
+        if (table.buckets.get(slot) == null) {
+            if ((table.used + 1) * 2 > table.keys.length) {
+                table = table.resized();
+                longs = table;
+                slot = table.slot(route);
+            }
+            //The key is written before the bucket is published, readers only look at keys of published buckets
+            table.keys[slot] = route;
+            table.used++;
+        }
+        table.buckets.set(slot, bucket);
+    }
+
+    private static boolean isIntegral(/*Nullable*/ final Object route) {
+        return route instanceof Long || route instanceof Integer || route instanceof Short || route instanceof Byte || route instanceof Character;
+    }
+
+    private static long integralValue(final Object route) {
+        return route instanceof Character character ? character : ((Number) route).longValue();
+    }
+
+    public static <K, Mut> Builder<K, Mut> builder(final EventKey<Mut, ?> key, final EventKey.Factory<Mut, ?> factory) {
+        return new Builder<>(key, factory);
+    }
+
+    //Routed listeners run in registration order unless the key has a comparator, a null routed set marks a removed long route
+    private record Bucket<Mut>(/*Nullable*/ EventListenerSet<Mut> routed, EventListenerSet<Mut> listeners) {
+    }
+
+    private static final class LongTable<Mut> {
+        private final long[] keys;
+        private final AtomicReferenceArray<Bucket<Mut>> buckets;
+        private int used;
+
+        private LongTable(final int capacity) {
+            keys = new long[capacity];
+            buckets = new AtomicReferenceArray<>(capacity);
+        }
+
+        private /*Nullable*/ Bucket<Mut> get(final long route) {
+            final int mask = keys.length - 1;
+            int slot = hash(route) & mask;
+            while (true) {
+                final Bucket<Mut> bucket = buckets.get(slot);
+                if (bucket == null || keys[slot] == route) {
+                    return bucket;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private int slot(final long route) {
+            final int mask = keys.length - 1;
+            int slot = hash(route) & mask;
+            while (buckets.get(slot) != null && keys[slot] != route) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        //Drops removed routes, so the table only grows with the live ones
+        private LongTable<Mut> resized() {
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                final Bucket<Mut> bucket = buckets.get(i);
+                if (bucket != null && bucket.routed != null) {
+                    live++;
+                }
+            }
+            final LongTable<Mut> table = new LongTable<>(Math.max(8, Integer.highestOneBit(live + 1) * 4));
+            for (int i = 0; i < keys.length; i++) {
+                final Bucket<Mut> bucket = buckets.get(i);
+                if (bucket != null && bucket.routed != null) {
+                    final int slot = table.slot(keys[i]);
+                    table.keys[slot] = keys[i];
+                    table.buckets.set(slot, bucket);
+                    table.used++;
+                }
+            }
+            return table;
+        }
+
+        private static int hash(final long route) {
+            final long mixed = route * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+
+    public static final class Builder<K, Mut> {
+        private final EventKey<Mut, ?> key;
+        private final EventKey.Factory<Mut, ?> factory;
+        private final Map<K, List<Mut>> routed = new LinkedHashMap<>();
+        private final List<Mut> wildcards = new ArrayList<>();
+
+        private Builder(final EventKey<Mut, ?> key, final EventKey.Factory<Mut, ?> factory) {
+            this.key = key;
+            this.factory = factory;
+        }
+
+        public Builder<K, Mut> route(/*Nullable*/ final K route, final Mut listener) {
+            routed.computeIfAbsent(route, k -> new ArrayList<>()).add(listener);
+            return this;
+        }
+
+        public Builder<K, Mut> wildcard(final Mut listener) {
+            wildcards.add(listener);
+            return this;
+        }
+
+        //Wildcards go in first, so without a comparator they run ahead of the routed listeners
+        public EventRoutes<K, Mut> build() {
+            final EventRoutes<K, Mut> routes = new EventRoutes<>(key, factory);
+            for (final Mut wildcard : wildcards) {
+                routes.registerWildcard(wildcard);
+            }
+            for (final Map.Entry<K, List<Mut>> entry : routed.entrySet()) {
+                for (final Mut listener : entry.getValue()) {
+                    routes.register(entry.getKey(), listener);
+                }
+            }
+            return routes;
+        }
+    }
+}
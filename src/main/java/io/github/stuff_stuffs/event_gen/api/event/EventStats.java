@@ -0,0 +1,136 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import jdk.jfr.FlightRecorder;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class EventStats {
+    public static final String PROPERTY = "event_gen.stats";
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    //Weak so that stats of runtime keys nobody references anymore do not outlive them
+    private static final List<WeakReference<EventStats>> INSTANCES = new CopyOnWriteArrayList<>();
+    private final String keyFile;
+    private final List<EventKey<?, ?>> keys;
+    private final int base;
+    //Only allocated when stats are enabled, every generated key file creates an instance regardless
+    private final /*Nullable*/ LongAdder[] fires;
+    private final /*Nullable*/ LongAdder[] registeredListeners;
+    private final /*Nullable*/ LongAdder[] delayedQueued;
+    private final /*Nullable*/ LongAdder[] delayedDrained;
+
+    //Generated key files create one instance over their KEYS, whose ids are one block starting at the first key
+    public EventStats(final String keyFile, final List<EventKey<?, ?>> keys) {
+        this.keyFile = keyFile;
+        this.keys = keys;
+        base = keys.isEmpty() ? 0 : keys.get(0).id();
+        fires = adders(keys.size());
+        registeredListeners = adders(keys.size());
+        delayedQueued = adders(keys.size());
+        delayedDrained = adders(keys.size());
+        if (ENABLED) {
+            INSTANCES.add(new WeakReference<>(this));
+        }
+    }
+
+    //Short circuiting invokers can stop before the last listener, so this counts the listeners registered when the event fired
+    public void fired(final EventKey<?, ?> key, final int listeners) {
+        if (!ENABLED) {
+            return;
+        }
+        final int index = key.id() - base;
+        fires[index].increment();
+        registeredListeners[index].add(listeners);
+    }
+
+    public void delayQueued(final EventKey<?, ?> key) {
+        if (!ENABLED) {
+            return;
+        }
+        delayedQueued[key.id() - base].increment();
+    }
+
+    public void delayDrained(final EventKey<?, ?> key) {
+        if (!ENABLED) {
+            return;
+        }
+        delayedDrained[key.id() - base].increment();
+    }
+
+    public Snapshot snapshot() {
+        final List<KeyStats> stats = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (ENABLED) {
+                stats.add(new KeyStats(keys.get(i), fires[i].sum(), registeredListeners[i].sum(), delayedQueued[i].sum(), delayedDrained[i].sum()));
+            } else {
+                stats.add(new KeyStats(keys.get(i), 0, 0, 0, 0));
+            }
+        }
+        return new Snapshot(keyFile, stats);
+    }
+
+    public void reset() {
+        if (!ENABLED) {
+            return;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            fires[i].reset();
+            registeredListeners[i].reset();
+            delayedQueued[i].reset();
+            delayedDrained[i].reset();
+        }
+    }
+
+    private void emit() {
+        for (final KeyStats stats : snapshot().keys()) {
+            if (stats.fires() == 0 && stats.delayedQueued() == 0) {
+                continue;
+            }
+            final EventStatsEvent event = new EventStatsEvent();
+            event.keyFile = keyFile;
+            event.event = stats.key().mut().getName();
+            event.fires = stats.fires();
+            event.registeredListeners = stats.registeredListeners();
+            event.delayedQueued = stats.delayedQueued();
+            event.delayedDrained = stats.delayedDrained();
+            event.commit();
+        }
+    }
+
+    private static void emitAll() {
+        for (final WeakReference<EventStats> reference : INSTANCES) {
+            final EventStats stats = reference.get();
+            if (stats == null) {
+                INSTANCES.remove(reference);
+            } else {
+                stats.emit();
+            }
+        }
+    }
+
+    private static /*Nullable*/ LongAdder[] adders(final int size) {
+        if (!ENABLED) {
+            return null;
+        }
+        final LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    static {
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(EventStatsEvent.class, EventStats::emitAll);
+        }
+    }
+
+    public record Snapshot(String keyFile, List<KeyStats> keys) {
+    }
+
+    public record KeyStats(EventKey<?, ?> key, long fires, long registeredListeners, long delayedQueued, long delayedDrained) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import jdk.jfr.*;
+
+@Name("io.github.stuff_stuffs.event_gen.EventStats")
+@Label("Event Dispatch Stats")
+@Category("Event Gen")
+@Description("Per event totals since the owning key file's stats were last reset")
+@Period("1 s")
+@StackTrace(false)
+final class EventStatsEvent extends Event {
+    @Label("Key File")
+    String keyFile;
+    @Label("Event")
+    String event;
+    @Label("Fires")
+    long fires;
+    @Label("Registered Listeners")
+    @Description("Listeners registered at each fire, summed over fires")
+    long registeredListeners;
+    @Label("Delayed Queued")
+    long delayedQueued;
+    @Label("Delayed Drained")
+    long delayedDrained;
+}
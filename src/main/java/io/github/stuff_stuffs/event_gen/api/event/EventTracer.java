@@ -0,0 +1,10 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+public interface EventTracer {
+    void invoked(Class<?> event, int listeners);
+
+    //Index is the listener's position in the invoker that called it, the same position can hold different listeners in different invokers
+    void listenerCompleted(Class<?> event, int index, Object listener, long nanos);
+
+    void listenerFailed(Class<?> event, int index, Object listener, Throwable throwable);
+}
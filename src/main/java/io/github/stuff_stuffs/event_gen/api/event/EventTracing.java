@@ -0,0 +1,19 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.util.ServiceLoader;
+
+public final class EventTracing {
+    public static final String PROPERTY = "event_gen.tracing";
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    private static final /*Nullable*/ EventTracer TRACER = ENABLED ? ServiceLoader.load(EventTracer.class).findFirst().orElseGet(HistogramEventTracer::new) : null;
+
+    public static EventTracer tracer() {
+        if (TRACER == null) {
+            throw new IllegalStateException("Event tracing is disabled, set -D" + PROPERTY + "=true to enable it!");
+        }
+        return TRACER;
+    }
+
+    private EventTracing() {
+    }
+}
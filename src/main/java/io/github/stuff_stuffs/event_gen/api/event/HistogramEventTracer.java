@@ -0,0 +1,128 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class HistogramEventTracer implements EventTracer {
+    public static final int BUCKETS = 64;
+    //Keyed by event class and then weakly by listener identity, so traced listeners and plugin class loaders are never retained
+    private volatile ClassValue<Counters> counters = newCounters();
+
+    @Override
+    public void invoked(final Class<?> event, final int listeners) {
+        counters.get(event).invocations.increment();
+    }
+
+    @Override
+    public void listenerCompleted(final Class<?> event, final int index, final Object listener, final long nanos) {
+        final int bucket = BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0));
+        counters.get(event).latencies(listener).incrementAndGet(bucket);
+    }
+
+    @Override
+    public void listenerFailed(final Class<?> event, final int index, final Object listener, final Throwable throwable) {
+        counters.get(event).failures.increment();
+    }
+
+    public long invocations(final Class<?> event) {
+        return counters.get(event).invocations.sum();
+    }
+
+    public long failures(final Class<?> event) {
+        return counters.get(event).failures.sum();
+    }
+
+    //Bucket i counts calls that took less than 2^i nanoseconds and at least 2^(i-1)
+    public long[] latencyHistogram(final Class<?> event, final Object listener) {
+        final AtomicLongArray latencies = counters.get(event).latencies.get(new LookupKey(listener));
+        final long[] copy = new long[BUCKETS + 1];
+        if (latencies != null) {
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = latencies.get(i);
+            }
+        }
+        return copy;
+    }
+
+    public void reset() {
+        counters = newCounters();
+    }
+
+    private static ClassValue<Counters> newCounters() {
+        return new ClassValue<>() {
+            @Override
+            protected Counters computeValue(final Class<?> type) {
+                return new Counters();
+            }
+        };
+    }
+
+    private static final class Counters {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final ConcurrentHashMap<ListenerKey, AtomicLongArray> latencies = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Object> released = new ReferenceQueue<>();
+
+        private AtomicLongArray latencies(final Object listener) {
+            final AtomicLongArray existing = latencies.get(new LookupKey(listener));
+            if (existing != null) {
+                return existing;
+            }
+            Reference<?> reference;
+            while ((reference = released.poll()) != null) {
+                latencies.remove((WeakKey) reference);
+            }
+            return latencies.computeIfAbsent(new WeakKey(listener, released), key -> new AtomicLongArray(BUCKETS + 1));
+        }
+    }
+
+    //Lookups and stored keys compare equal when they refer to the same listener
+    private interface ListenerKey {
+        /*Nullable*/ Object listener();
+    }
+
+    private record LookupKey(Object listener) implements ListenerKey {
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ListenerKey key && key.listener() == listener;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(listener);
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<Object> implements ListenerKey {
+        private final int hash;
+
+        private WeakKey(final Object listener, final ReferenceQueue<Object> queue) {
+            super(listener, queue);
+            hash = System.identityHashCode(listener);
+        }
+
+        @Override
+        public /*Nullable*/ Object listener() {
+            return get();
+        }
+
+        //A cleared key only equals itself, so it can still be removed once released
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            final Object listener = get();
+            return listener != null && o instanceof ListenerKey key && key.listener() == listener;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.stuff_stuffs.event_gen.api.event.gen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventAsync {
+    //Runs every listener in its own task, which declares the listeners safe to share their arguments and skips short circuiting
+    //Otherwise the whole invoker runs in order in a single task
+    boolean concurrent() default false;
+}
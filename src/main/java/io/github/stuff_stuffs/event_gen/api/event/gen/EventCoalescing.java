@@ -0,0 +1,17 @@
+package io.github.stuff_stuffs.event_gen.api.event.gen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventCoalescing {
+    Policy policy() default Policy.LAST_WRITE_WINS;
+
+    //Matched by parameter name, so builds using this with incremental compilation need -parameters
+    String[] keys() default {};
+
+    enum Policy {
+        LAST_WRITE_WINS,
+        KEEP_FIRST
+    }
+}
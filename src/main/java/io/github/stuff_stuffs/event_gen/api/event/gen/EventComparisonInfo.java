@@ -5,7 +5,12 @@ import java.lang.annotation.RetentionPolicy;
 
 @Retention(RetentionPolicy.RUNTIME)
 public @interface EventComparisonInfo {
+    //Compares boxed ords when the compared type is primitive, the natural order and reversed() stay unboxed
     String comparator() default "";
 
     Class<?> comparedType();
+
+    boolean banded() default false;
+
+    boolean reversed() default false;
 }
@@ -5,7 +5,16 @@ import java.lang.annotation.RetentionPolicy;
 
 @Retention(RetentionPolicy.RUNTIME)
 public @interface EventInfo {
+    //Builtin combiners, inlined without boxing for primitive results, the '#' keeps them apart from any method name
+    String SUM = "#sum";
+    String MIN = "#min";
+    String MAX = "#max";
+    String AND = "#and";
+    String OR = "#or";
+
     String defaultValue() default "";
 
     String combiner() default "";
+
+    String shortCircuit() default "";
 }
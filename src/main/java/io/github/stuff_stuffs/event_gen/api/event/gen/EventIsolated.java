@@ -0,0 +1,9 @@
+package io.github.stuff_stuffs.event_gen.api.event.gen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+//Generates isolatedInvoker, which keeps dispatching past failing listeners and can quarantine them
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventIsolated {
+}
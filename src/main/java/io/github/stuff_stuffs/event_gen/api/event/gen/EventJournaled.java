@@ -0,0 +1,9 @@
+package io.github.stuff_stuffs.event_gen.api.event.gen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+//Generates codec, which records fired events to an EventJournal and replays them
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventJournaled {
+}
@@ -0,0 +1,9 @@
+package io.github.stuff_stuffs.event_gen.api.event.gen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+//Generates a Linker so the factory supports link, without it link throws
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventLinked {
+}
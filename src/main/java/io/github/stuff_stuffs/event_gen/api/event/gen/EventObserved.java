@@ -0,0 +1,10 @@
+package io.github.stuff_stuffs.event_gen.api.event.gen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+//Generates Factory.observed. Observers get the caller's argument references after the invoker returns, not a
+//snapshot, so observed events should take immutable arguments or copies the caller no longer mutates
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventObserved {
+}
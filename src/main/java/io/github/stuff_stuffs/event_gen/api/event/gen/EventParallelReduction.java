@@ -0,0 +1,10 @@
+package io.github.stuff_stuffs.event_gen.api.event.gen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+//Declares the combiner associative with the default value as its identity, and the listeners thread-safe
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventParallelReduction {
+    int threshold() default 64;
+}
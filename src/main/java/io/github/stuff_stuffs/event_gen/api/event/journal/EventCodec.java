@@ -0,0 +1,10 @@
+package io.github.stuff_stuffs.event_gen.api.event.journal;
+
+import java.nio.ByteBuffer;
+
+public interface EventCodec<Mut> {
+    //Appends each fired event to the journal under the given type, then forwards it to the delegate
+    Mut recorder(EventJournal journal, int type, Mut delegate);
+
+    void replay(ByteBuffer in, Mut target);
+}
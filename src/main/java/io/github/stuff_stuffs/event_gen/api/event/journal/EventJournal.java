@@ -0,0 +1,195 @@
+package io.github.stuff_stuffs.event_gen.api.event.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public final class EventJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    //Each record is [payload length + 1][type][payload], a zero marks the unused tail of a segment
+    private static final int HEADER_BYTES = 8;
+    private final ThreadLocal<JournalOutput> outputs = ThreadLocal.withInitial(JournalOutput::new);
+    //Appenders take no lock, they announce themselves on the segment and reserve space with one atomic add.
+    //Rolling and closing seal the segment under this lock and wait for its appenders in flight
+    private final Object rollLock = new Object();
+    private final Path directory;
+    private final int segmentBytes;
+    private int segmentIndex;
+    private volatile /*Nullable*/ Segment segment;
+    private volatile boolean closed;
+
+    private EventJournal(final Path directory, final int segmentBytes, final int segmentIndex) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.segmentIndex = segmentIndex;
+    }
+
+    public static EventJournal open(final Path directory, final int segmentBytes) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segments must be larger than a record header!");
+        }
+        Files.createDirectories(directory);
+        final List<Path> segments = segments(directory);
+        final int next = segments.isEmpty() ? 0 : segmentIndex(segments.get(segments.size() - 1)) + 1;
+        return new EventJournal(directory, segmentBytes, next);
+    }
+
+    public static void replay(final Path directory, final RecordHandler handler) throws IOException {
+        for (final Path path : segments(directory)) {
+            final MappedByteBuffer mapped;
+            try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            while (mapped.remaining() >= HEADER_BYTES) {
+                final int marker = mapped.getInt();
+                final int type = mapped.getInt();
+                final int length = marker - 1;
+                //The marker is written last, so a record cut short by a crash or a truncated copy ends the segment
+                if (marker <= 0 || length > mapped.remaining()) {
+                    break;
+                }
+                final int start = mapped.position();
+                handler.record(type, mapped.slice(start, length).order(ByteOrder.LITTLE_ENDIAN));
+                mapped.position(start + length);
+            }
+        }
+    }
+
+    public JournalOutput output() {
+        final JournalOutput output = outputs.get();
+        output.reset();
+        return output;
+    }
+
+    public void append(final int type, final JournalOutput output) {
+        final int size = output.size();
+        final int required = HEADER_BYTES + size;
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed!");
+            }
+            final Segment current = segment;
+            if (current != null) {
+                current.writers.getAndIncrement();
+                try {
+                    //Checked after announcing, so a sealer either sees this appender or this appender sees the seal
+                    if (!current.sealed) {
+                        final int position = current.position.getAndAdd(required);
+                        if (position <= current.capacity - required) {
+                            current.buffer.put(position + HEADER_BYTES, output.array(), 0, size);
+                            current.buffer.putInt(position + 4, type);
+                            current.buffer.putInt(position, size + 1);
+                            return;
+                        }
+                    }
+                } finally {
+                    current.writers.getAndDecrement();
+                }
+            }
+            roll(current, required);
+        }
+    }
+
+    //Forces appends that completed before the call, appenders in flight are not waited for
+    public void flush() {
+        final Segment current = segment;
+        if (current != null) {
+            current.buffer.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (rollLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            final Segment current = segment;
+            if (current != null) {
+                seal(current);
+            }
+            segment = null;
+        }
+    }
+
+    private void roll(final /*Nullable*/ Segment full, final int required) {
+        synchronized (rollLock) {
+            //Another appender may have rolled already
+            if (closed || segment != full) {
+                return;
+            }
+            if (full != null) {
+                seal(full);
+            }
+            final Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentIndex++, SEGMENT_SUFFIX));
+            final MappedByteBuffer buffer;
+            try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, required + HEADER_BYTES));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            segment = new Segment(buffer, buffer.capacity());
+        }
+    }
+
+    //Appenders only stay in flight for one copy, so spinning is shorter than parking them
+    private static void seal(final Segment segment) {
+        segment.sealed = true;
+        while (segment.writers.get() != 0) {
+            Thread.onSpinWait();
+        }
+        segment.buffer.force();
+    }
+
+    private static List<Path> segments(final Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        final List<Path> segments = new ArrayList<>();
+        try (final Stream<Path> list = Files.list(directory)) {
+            list.filter(path -> {
+                final String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static int segmentIndex(final Path path) {
+        final String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final AtomicInteger position = new AtomicInteger();
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean sealed;
+
+        private Segment(final MappedByteBuffer buffer, final int capacity) {
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+    }
+
+    public interface RecordHandler {
+        void record(int type, ByteBuffer payload);
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.stuff_stuffs.event_gen.api.event.journal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public final class EventReplayer implements EventJournal.RecordHandler {
+    private Handler<?>[] handlers = new Handler<?>[0];
+
+    public <Mut> EventReplayer register(final int type, final EventCodec<Mut> codec, final Mut target) {
+        if (type < 0) {
+            throw new IllegalArgumentException("Journal event types must be non-negative!");
+        }
+        if (type >= handlers.length) {
+            handlers = Arrays.copyOf(handlers, type + 1);
+        }
+        handlers[type] = new Handler<>(codec, target);
+        return this;
+    }
+
+    @Override
+    public void record(final int type, final ByteBuffer payload) {
+        final Handler<?> handler = type < handlers.length ? handlers[type] : null;
+        if (handler == null) {
+            throw new IllegalStateException("Unknown journal event type: " + type);
+        }
+        handler.replay(payload);
+    }
+
+    private record Handler<Mut>(EventCodec<Mut> codec, Mut target) {
+        private void replay(final ByteBuffer payload) {
+            codec.replay(payload, target);
+        }
+    }
+}
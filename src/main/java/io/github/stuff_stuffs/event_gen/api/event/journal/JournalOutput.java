@@ -0,0 +1,76 @@
+package io.github.stuff_stuffs.event_gen.api.event.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public final class JournalOutput {
+    private ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+
+    JournalOutput() {
+    }
+
+    public void writeBoolean(final boolean value) {
+        ensure(1);
+        buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    public void writeByte(final byte value) {
+        ensure(1);
+        buffer.put(value);
+    }
+
+    public void writeShort(final short value) {
+        ensure(2);
+        buffer.putShort(value);
+    }
+
+    public void writeChar(final char value) {
+        ensure(2);
+        buffer.putChar(value);
+    }
+
+    public void writeInt(final int value) {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(final long value) {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    public void writeFloat(final float value) {
+        ensure(4);
+        buffer.putFloat(value);
+    }
+
+    public void writeDouble(final double value) {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    public void writeBytes(final byte[] value, final int offset, final int length) {
+        ensure(length);
+        buffer.put(value, offset, length);
+    }
+
+    void reset() {
+        buffer.clear();
+    }
+
+    byte[] array() {
+        return buffer.array();
+    }
+
+    int size() {
+        return buffer.position();
+    }
+
+    private void ensure(final int bytes) {
+        if (buffer.remaining() < bytes) {
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes)).order(ByteOrder.LITTLE_ENDIAN);
+            grown.put(buffer.array(), 0, buffer.position());
+            buffer = grown;
+        }
+    }
+}
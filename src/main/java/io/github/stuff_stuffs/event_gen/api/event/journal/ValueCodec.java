@@ -0,0 +1,9 @@
+package io.github.stuff_stuffs.event_gen.api.event.journal;
+
+import java.nio.ByteBuffer;
+
+public interface ValueCodec<T> {
+    void write(JournalOutput out, T value);
+
+    T read(ByteBuffer in);
+}
@@ -0,0 +1,71 @@
+package io.github.stuff_stuffs.event_gen.api.event.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class ValueCodecs {
+    public static final ValueCodec<String> STRING = new ValueCodec<>() {
+        @Override
+        public void write(final JournalOutput out, final String value) {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public String read(final ByteBuffer in) {
+            final int length = in.getInt();
+            if (length == -1) {
+                return null;
+            }
+            final byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+    public static final ValueCodec<byte[]> BYTES = new ValueCodec<>() {
+        @Override
+        public void write(final JournalOutput out, final byte[] value) {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(value.length);
+            out.writeBytes(value, 0, value.length);
+        }
+
+        @Override
+        public byte[] read(final ByteBuffer in) {
+            final int length = in.getInt();
+            if (length == -1) {
+                return null;
+            }
+            final byte[] bytes = new byte[length];
+            in.get(bytes);
+            return bytes;
+        }
+    };
+
+    public static <E extends Enum<E>> ValueCodec<E> ofEnum(final Class<E> type) {
+        final E[] constants = type.getEnumConstants();
+        return new ValueCodec<>() {
+            @Override
+            public void write(final JournalOutput out, final E value) {
+                out.writeInt(value == null ? -1 : value.ordinal());
+            }
+
+            @Override
+            public E read(final ByteBuffer in) {
+                final int ordinal = in.getInt();
+                return ordinal == -1 ? null : constants[ordinal];
+            }
+        };
+    }
+
+    private ValueCodecs() {
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Writes a final class that implements one interface by forwarding every method to a final MethodHandle field,
+//the code is straight-line so no StackMapTable is needed
+final class DelegatingClassWriter {
+    private static final int CLASS_VERSION = 61;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final String OBJECT = "java/lang/Object";
+    private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String METHOD_HANDLE_DESCRIPTOR = "Ljava/lang/invoke/MethodHandle;";
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> entries = new HashMap<>();
+    private int poolSize = 1;
+
+    static byte[] write(final String internalName, final Class<?> implemented, final List<Method> methods) {
+        return new DelegatingClassWriter().create(internalName, implemented, methods);
+    }
+
+    private byte[] create(final String internalName, final Class<?> implemented, final List<Method> methods) {
+        try {
+            final int thisClass = classEntry(internalName);
+            final int superClass = classEntry(OBJECT);
+            final int interfaceClass = classEntry(implemented.getName().replace('.', '/'));
+            final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+            final DataOutputStream body = new DataOutputStream(bodyBytes);
+            body.writeShort(methods.size());
+            for (int i = 0; i < methods.size(); i++) {
+                body.writeShort(ACC_PRIVATE | ACC_FINAL);
+                body.writeShort(utf8("h" + i));
+                body.writeShort(utf8(METHOD_HANDLE_DESCRIPTOR));
+                body.writeShort(0);
+            }
+            body.writeShort(methods.size() + 1);
+            writeConstructor(body, internalName, methods.size());
+            for (int i = 0; i < methods.size(); i++) {
+                writeForwarder(body, internalName, i, methods.get(i));
+            }
+            body.writeShort(0);
+            final ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(classBytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            out.writeShort(poolSize);
+            poolBytes.writeTo(out);
+            out.writeShort(ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(interfaceClass);
+            bodyBytes.writeTo(out);
+            return classBytes.toByteArray();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeConstructor(final DataOutputStream body, final String internalName, final int fields) throws IOException {
+        final ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        final DataOutputStream code = new DataOutputStream(codeBytes);
+        code.writeByte(0x2A);
+        code.writeByte(0xB7);
+        code.writeShort(memberEntry(10, OBJECT, "<init>", "()V"));
+        for (int i = 0; i < fields; i++) {
+            code.writeByte(0x2A);
+            code.writeByte(0x2B);
+            pushInt(code, i);
+            code.writeByte(0x32);
+            code.writeByte(0xB5);
+            code.writeShort(memberEntry(9, internalName, "h" + i, METHOD_HANDLE_DESCRIPTOR));
+        }
+        code.writeByte(0xB1);
+        writeMethod(body, ACC_PUBLIC, "<init>", "([Ljava/lang/invoke/MethodHandle;)V", 3, 2, codeBytes.toByteArray());
+    }
+
+    private void writeForwarder(final DataOutputStream body, final String internalName, final int index, final Method method) throws IOException {
+        final String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+        final ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        final DataOutputStream code = new DataOutputStream(codeBytes);
+        code.writeByte(0x2A);
+        code.writeByte(0xB4);
+        code.writeShort(memberEntry(9, internalName, "h" + index, METHOD_HANDLE_DESCRIPTOR));
+        int slot = 1;
+        for (final Class<?> parameter : method.getParameterTypes()) {
+            if (slot > 255) {
+                throw new IllegalArgumentException("Too many event parameters: " + method);
+            }
+            code.writeByte(loadOpcode(parameter));
+            code.writeByte(slot);
+            slot += slots(parameter);
+        }
+        code.writeByte(0xB6);
+        code.writeShort(memberEntry(10, METHOD_HANDLE, "invokeExact", descriptor));
+        code.writeByte(returnOpcode(method.getReturnType()));
+        writeMethod(body, ACC_PUBLIC, method.getName(), descriptor, Math.max(slot, 2), slot, codeBytes.toByteArray());
+    }
+
+    private void writeMethod(final DataOutputStream body, final int access, final String name, final String descriptor, final int maxStack, final int maxLocals, final byte[] code) throws IOException {
+        body.writeShort(access);
+        body.writeShort(utf8(name));
+        body.writeShort(utf8(descriptor));
+        body.writeShort(1);
+        body.writeShort(utf8("Code"));
+        body.writeInt(12 + code.length);
+        body.writeShort(maxStack);
+        body.writeShort(maxLocals);
+        body.writeInt(code.length);
+        body.write(code);
+        body.writeShort(0);
+        body.writeShort(0);
+    }
+
+    private static void pushInt(final DataOutputStream code, final int value) throws IOException {
+        if (value <= 5) {
+            code.writeByte(0x03 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            code.writeByte(0x10);
+            code.writeByte(value);
+        } else {
+            code.writeByte(0x11);
+            code.writeShort(value);
+        }
+    }
+
+    private static int slots(final Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static int loadOpcode(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return 0x19;
+        } else if (type == long.class) {
+            return 0x16;
+        } else if (type == float.class) {
+            return 0x17;
+        } else if (type == double.class) {
+            return 0x18;
+        }
+        return 0x15;
+    }
+
+    private static int returnOpcode(final Class<?> type) {
+        if (type == void.class) {
+            return 0xB1;
+        } else if (!type.isPrimitive()) {
+            return 0xB0;
+        } else if (type == long.class) {
+            return 0xAD;
+        } else if (type == float.class) {
+            return 0xAE;
+        } else if (type == double.class) {
+            return 0xAF;
+        }
+        return 0xAC;
+    }
+
+    private int utf8(final String value) throws IOException {
+        final Integer existing = entries.get("U" + value);
+        if (existing != null) {
+            return existing;
+        }
+        pool.writeByte(1);
+        pool.writeUTF(value);
+        return register("U" + value);
+    }
+
+    private int classEntry(final String internalName) throws IOException {
+        final Integer existing = entries.get("C" + internalName);
+        if (existing != null) {
+            return existing;
+        }
+        final int name = utf8(internalName);
+        pool.writeByte(7);
+        pool.writeShort(name);
+        return register("C" + internalName);
+    }
+
+    private int memberEntry(final int tag, final String owner, final String name, final String descriptor) throws IOException {
+        final String key = "M" + tag + owner + '.' + name + descriptor;
+        final Integer existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final int ownerIndex = classEntry(owner);
+        final String nameAndTypeKey = "N" + name + descriptor;
+        Integer nameAndType = entries.get(nameAndTypeKey);
+        if (nameAndType == null) {
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            pool.writeByte(12);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+            nameAndType = register(nameAndTypeKey);
+        }
+        pool.writeByte(tag);
+        pool.writeShort(ownerIndex);
+        pool.writeShort(nameAndType);
+        return register(key);
+    }
+
+    private int register(final String key) {
+        final int index = poolSize;
+        poolSize++;
+        entries.put(key, index);
+        return index;
+    }
+}
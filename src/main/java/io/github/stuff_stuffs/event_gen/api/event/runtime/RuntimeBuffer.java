@@ -0,0 +1,68 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventBuffer;
+import io.github.stuff_stuffs.event_gen.api.event.EventKey;
+import io.github.stuff_stuffs.event_gen.api.event.EventStats;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+
+final class RuntimeBuffer<Mut> implements EventBuffer<Mut> {
+    private final MethodHandle target;
+    private final /*Nullable*/ EventStats stats;
+    private final /*Nullable*/ EventKey<?, ?> key;
+    private Object[][] args;
+    private int size;
+    private int delivered;
+    private Mut sink;
+
+    RuntimeBuffer(final MethodHandle target, final int capacity, /*Nullable*/ final EventStats stats, /*Nullable*/ final EventKey<?, ?> key) {
+        this.target = target;
+        this.stats = stats;
+        this.key = key;
+        args = new Object[Math.max(capacity, 1)][];
+    }
+
+    void sink(final Mut sink) {
+        this.sink = sink;
+    }
+
+    void push(final Object[] values) {
+        if (size == args.length) {
+            args = Arrays.copyOf(args, Math.max(size * 2, 8));
+        }
+        args[size] = values;
+        size++;
+        if (stats != null) {
+            stats.delayQueued(key);
+        }
+    }
+
+    @Override
+    public Mut sink() {
+        return sink;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void drain() {
+        try {
+            while (delivered < size) {
+                RuntimeFactory.invoke(target, args[delivered++]);
+                if (stats != null) {
+                    stats.delayDrained(key);
+                }
+            }
+        } finally {
+            final int remaining = size - delivered;
+            System.arraycopy(args, delivered, args, 0, remaining);
+            Arrays.fill(args, remaining, size, null);
+            size = remaining;
+            delivered = 0;
+        }
+    }
+}
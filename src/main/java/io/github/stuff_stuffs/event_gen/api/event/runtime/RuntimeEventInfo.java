@@ -0,0 +1,15 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Comparator;
+
+//Mirrors EventInfo and EventComparisonInfo, the combiner takes (res, r) and returns the new res
+public record RuntimeEventInfo<Mut>(/*Nullable*/ Object defaultValue, /*Nullable*/ MethodHandle combiner, /*Nullable*/ Object shortCircuit, /*Nullable*/ Comparator<Mut> comparator) {
+    public static <Mut> RuntimeEventInfo<Mut> of() {
+        return new RuntimeEventInfo<>(null, null, null, null);
+    }
+
+    public static <Mut> RuntimeEventInfo<Mut> of(/*Nullable*/ final Comparator<Mut> comparator) {
+        return new RuntimeEventInfo<>(null, null, null, comparator);
+    }
+}
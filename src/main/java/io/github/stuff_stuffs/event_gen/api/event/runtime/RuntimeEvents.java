@@ -0,0 +1,107 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventKey;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public final class RuntimeEvents {
+    //Lives on the interface itself, so unloading the interface drops its hidden implementation too
+    private static final ClassValue<ShapeHolder> SHAPES = new ClassValue<>() {
+        @Override
+        protected ShapeHolder computeValue(final Class<?> type) {
+            return new ShapeHolder();
+        }
+    };
+
+    //The lookup needs full privilege access, the hidden implementation is defined in its package and cached per interface.
+    //Every runtime key is the only key of its own stats
+    public static <Mut, View> EventKey<Mut, View> define(final MethodHandles.Lookup lookup, final Class<Mut> mut, final Class<View> view, final RuntimeEventInfo<Mut> info) {
+        final RuntimeFactory<Mut, View> factory = create(lookup, mut, view, info);
+        final EventKey<Mut, View> key = new EventKey<>(EventKey.reserve(1), mut, view, info.comparator(), factory);
+        factory.stats(key);
+        return key;
+    }
+
+    public static <Mut, View> EventKey.Factory<Mut, View> factory(final MethodHandles.Lookup lookup, final Class<Mut> mut, final Class<View> view, final RuntimeEventInfo<Mut> info) {
+        return create(lookup, mut, view, info);
+    }
+
+    private static <Mut, View> RuntimeFactory<Mut, View> create(final MethodHandles.Lookup lookup, final Class<Mut> mut, final Class<View> view, final RuntimeEventInfo<Mut> info) {
+        return new RuntimeFactory<>(lookup, SHAPES.get(mut).get(lookup, mut), mut, view, info);
+    }
+
+    private static final class ShapeHolder {
+        private /*Nullable*/ Shape shape;
+
+        private synchronized Shape get(final MethodHandles.Lookup lookup, final Class<?> mut) {
+            if (shape == null) {
+                shape = Shape.create(lookup, mut);
+            }
+            return shape;
+        }
+    }
+
+    record Shape(List<Method> methods, int eventIndex, MethodHandle constructor) {
+        Object create(final MethodHandle[] handles) {
+            try {
+                return constructor.invokeExact(handles);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        private static Shape create(final MethodHandles.Lookup lookup, final Class<?> mut) {
+            if (!mut.isInterface()) {
+                throw new IllegalArgumentException("Runtime events must be interfaces: " + mut.getName());
+            }
+            final List<Method> methods = new ArrayList<>();
+            for (final Method method : mut.getMethods()) {
+                if (Modifier.isAbstract(method.getModifiers()) && methods.stream().noneMatch(m -> m.getName().equals(method.getName()) && Arrays.equals(m.getParameterTypes(), method.getParameterTypes()))) {
+                    methods.add(method);
+                }
+            }
+            methods.sort(Comparator.comparing(Method::getName).thenComparing(method -> MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString()));
+            int eventIndex = -1;
+            for (int i = 0; i < methods.size(); i++) {
+                if (!isOrd(methods.get(i))) {
+                    if (eventIndex != -1) {
+                        throw new IllegalArgumentException("Runtime events must have exactly one event method: " + mut.getName());
+                    }
+                    eventIndex = i;
+                }
+            }
+            if (eventIndex == -1) {
+                throw new IllegalArgumentException("Runtime events must have exactly one event method: " + mut.getName());
+            }
+            final String packageName = lookup.lookupClass().getPackageName().replace('.', '/');
+            final String simpleName = mut.getSimpleName() + "$RuntimeInvoker";
+            final byte[] bytes = DelegatingClassWriter.write(packageName.isEmpty() ? simpleName : packageName + '/' + simpleName, mut, methods);
+            try {
+                final MethodHandles.Lookup hidden = lookup.defineHiddenClass(bytes, true);
+                final MethodHandle constructor = hidden
+                        .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class, MethodHandle[].class))
+                        .asType(MethodType.methodType(Object.class, MethodHandle[].class));
+                return new Shape(List.copyOf(methods), eventIndex, constructor);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not define runtime invoker for " + mut.getName(), e);
+            }
+        }
+
+        static boolean isOrd(final Method method) {
+            return method.getName().equals("ord") && method.getParameterCount() == 0;
+        }
+    }
+
+    private RuntimeEvents() {
+    }
+}
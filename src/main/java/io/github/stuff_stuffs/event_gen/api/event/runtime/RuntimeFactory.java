@@ -0,0 +1,327 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import io.github.stuff_stuffs.event_gen.api.event.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+final class RuntimeFactory<Mut, View> implements EventKey.Factory<Mut, View> {
+    //Past this many listeners the invoker loops over the array instead of folding one handle per listener
+    private static final int FOLD_LIMIT = 16;
+    private static final MethodHandle UNSUPPORTED;
+    private static final MethodHandle OBJECTS_EQUALS;
+    private static final MethodHandle DELAY;
+    private static final MethodHandle OBSERVE;
+    private static final MethodHandle PUSH;
+    private static final MethodHandle FIRED;
+    private static final MethodHandle TRACED;
+    private final RuntimeEvents.Shape shape;
+    private final Class<Mut> mut;
+    private final int eventIndex;
+    private final MethodType eventType;
+    private final List<Class<?>> parameters;
+    private final MethodHandle[] unsupported;
+    private final MethodHandle[] viewHandles;
+    private final MethodHandle event;
+    private final MethodHandle initial;
+    private final /*Nullable*/ MethodHandle combine;
+    private final /*Nullable*/ MethodHandle absorbing;
+    //Only set for keys made by RuntimeEvents.define while stats are enabled, before the key is handed out
+    private volatile /*Nullable*/ EventStats stats;
+    private volatile /*Nullable*/ EventKey<Mut, View> key;
+
+    RuntimeFactory(final MethodHandles.Lookup lookup, final RuntimeEvents.Shape shape, final Class<Mut> mut, final Class<View> view, final RuntimeEventInfo<Mut> info) {
+        this.shape = shape;
+        this.mut = mut;
+        eventIndex = shape.eventIndex();
+        final List<Method> methods = shape.methods();
+        final Method eventMethod = methods.get(eventIndex);
+        eventType = MethodType.methodType(eventMethod.getReturnType(), eventMethod.getParameterTypes());
+        parameters = eventType.parameterList();
+        unsupported = new MethodHandle[methods.size()];
+        viewHandles = new MethodHandle[methods.size()];
+        try {
+            for (int i = 0; i < methods.size(); i++) {
+                final Method method = methods.get(i);
+                final MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+                unsupported[i] = MethodHandles.dropArguments(UNSUPPORTED.asType(MethodType.methodType(type.returnType())), 0, type.parameterList());
+                viewHandles[i] = lookup.unreflect(findViewMethod(view, method, i == eventIndex));
+            }
+            event = lookup.unreflect(eventMethod).asType(eventType.insertParameterTypes(0, mut));
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Could not access runtime event " + mut.getName(), e);
+        }
+        final Class<?> result = eventType.returnType();
+        if (result == void.class) {
+            initial = null;
+            combine = null;
+            absorbing = null;
+        } else {
+            if (info.combiner() == null) {
+                throw new IllegalArgumentException("Non-void events require a combiner!");
+            }
+            initial = info.defaultValue() == null ? MethodHandles.zero(result) : MethodHandles.constant(result, info.defaultValue());
+            combine = info.combiner().asType(MethodType.methodType(result, result, result));
+            absorbing = info.shortCircuit() == null ? null : MethodHandles.insertArguments(OBJECTS_EQUALS, 1, info.shortCircuit()).asType(MethodType.methodType(boolean.class, result));
+        }
+    }
+
+    void stats(final EventKey<Mut, View> key) {
+        if (EventStats.ENABLED) {
+            stats = new EventStats(mut.getName(), List.of(key));
+            this.key = key;
+        }
+    }
+
+    /*Nullable*/ EventStats stats() {
+        return stats;
+    }
+
+    @Override
+    public Mut convert(final View view) {
+        final MethodHandle[] handles = new MethodHandle[viewHandles.length];
+        for (int i = 0; i < handles.length; i++) {
+            final MethodHandle bound = viewHandles[i].bindTo(view);
+            if (i == eventIndex) {
+                handles[i] = returningInitial(bound.asType(eventType.changeReturnType(void.class)));
+            } else {
+                handles[i] = bound.asType(unsupported[i].type());
+            }
+        }
+        return mut.cast(shape.create(handles));
+    }
+
+    @Override
+    public Mut invoker(final List<Mut> events) {
+        return invoker(events.toArray(newArray(0)), false);
+    }
+
+    @Override
+    public Mut invoker(final Mut[] events) {
+        return invoker(events, true);
+    }
+
+    private Mut invoker(final Mut[] events, final boolean copy) {
+        final Mut[] listeners = copy ? events.clone() : events;
+        final MethodHandle chained = EventTracing.ENABLED ? traced(listeners) : chain(listeners);
+        final EventStats current = stats;
+        if (current == null) {
+            return create(chained);
+        }
+        final MethodHandle fired = MethodHandles.insertArguments(FIRED, 0, current, key, listeners.length);
+        return create(MethodHandles.foldArguments(chained, MethodHandles.dropArguments(fired, 0, parameters)));
+    }
+
+    @Override
+    public Mut delay(final Mut delegate, final Consumer<Runnable> delayConsumer) {
+        final MethodHandle target = spread(event.bindTo(delegate));
+        return create(returningInitial(collect(MethodHandles.insertArguments(DELAY, 0, stats, key, delayConsumer, target))));
+    }
+
+    @Override
+    public EventBuffer<Mut> buffer(final Mut delegate, final int capacity) {
+        final RuntimeBuffer<Mut> buffer = new RuntimeBuffer<>(spread(event.bindTo(delegate)), capacity, stats, key);
+        buffer.sink(create(returningInitial(collect(PUSH.bindTo(buffer)))));
+        return buffer;
+    }
+
+    @Override
+    public boolean supportsLinking() {
+        return true;
+    }
+
+    @Override
+    public EventLink<Mut> link(final Mut[] events) {
+        final MutableCallSite site = new MutableCallSite(chain(events.clone()));
+        final Mut linked = create(site.dynamicInvoker());
+        return new EventLink<>() {
+            @Override
+            public Mut invoker() {
+                return linked;
+            }
+
+            @Override
+            public void relink(final Mut[] events) {
+                site.setTarget(chain(events.clone()));
+                MutableCallSite.syncAll(new MutableCallSite[]{site});
+            }
+        };
+    }
+
+    @Override
+    public boolean supportsObservers() {
+        return true;
+    }
+
+    @Override
+    public Mut observed(final Mut invoker, final View[] observers, final Executor executor) {
+        final MethodHandle[] targets = new MethodHandle[observers.length];
+        for (int i = 0; i < observers.length; i++) {
+            targets[i] = spread(viewHandles[eventIndex].bindTo(observers[i]).asType(eventType.changeReturnType(void.class)));
+        }
+        final MethodHandle observe = collect(OBSERVE.bindTo(executor).bindTo(targets));
+        final MethodHandle running = event.bindTo(invoker);
+        if (eventType.returnType() == void.class) {
+            return create(MethodHandles.foldArguments(observe, running));
+        }
+        final MethodHandle passThrough = MethodHandles.dropArguments(MethodHandles.identity(eventType.returnType()), 1, parameters);
+        return create(MethodHandles.foldArguments(MethodHandles.foldArguments(passThrough, 1, observe), running));
+    }
+
+    private MethodHandle chain(final Mut[] events) {
+        if (events.length <= FOLD_LIMIT) {
+            if (combine == null) {
+                return EventLinker.fold(event, events);
+            }
+            return EventLinker.fold(event, events, initial, combine, absorbing);
+        }
+        final MethodHandle listener = MethodHandles.collectArguments(event, 0, MethodHandles.arrayElementGetter(events.getClass()).bindTo(events));
+        final MethodHandle iterations = MethodHandles.dropArguments(MethodHandles.constant(int.class, events.length), 0, parameters);
+        if (combine == null) {
+            return MethodHandles.countedLoop(iterations, null, listener);
+        }
+        MethodHandle body = MethodHandles.collectArguments(combine, 1, listener);
+        if (absorbing != null) {
+            final List<Class<?>> skipped = body.type().dropParameterTypes(0, 1).parameterList();
+            body = MethodHandles.guardWithTest(
+                    MethodHandles.dropArguments(absorbing, 1, skipped),
+                    MethodHandles.dropArguments(MethodHandles.identity(eventType.returnType()), 1, skipped),
+                    body
+            );
+        }
+        return MethodHandles.countedLoop(iterations, MethodHandles.dropArguments(initial, 0, parameters), body);
+    }
+
+    //Boxes every argument and result, tracing is a diagnostic mode
+    private MethodHandle traced(final Mut[] events) {
+        return MethodHandles.insertArguments(TRACED, 0, this, events).asCollector(Object[].class, parameters.size()).asType(eventType);
+    }
+
+    private Object traced(final Object[] events, final Object[] args) throws Throwable {
+        final EventTracer tracer = EventTracing.tracer();
+        tracer.invoked(mut, events.length);
+        Object res = initial == null ? null : initial.invoke();
+        for (int i = 0; i < events.length; i++) {
+            final long start = System.nanoTime();
+            final Object r;
+            try {
+                r = event.invokeWithArguments(prepend(events[i], args));
+            } catch (final RuntimeException | Error e) {
+                tracer.listenerFailed(mut, i, events[i], e);
+                throw e;
+            }
+            tracer.listenerCompleted(mut, i, events[i], System.nanoTime() - start);
+            if (combine != null) {
+                res = combine.invoke(res, r);
+                if (absorbing != null && (boolean) absorbing.invoke(res)) {
+                    break;
+                }
+            }
+        }
+        return res;
+    }
+
+    private static Object[] prepend(final Object first, final Object[] rest) {
+        final Object[] all = new Object[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+
+    private MethodHandle returningInitial(final MethodHandle action) {
+        if (initial == null) {
+            return action;
+        }
+        return MethodHandles.foldArguments(MethodHandles.dropArguments(initial, 0, parameters), action);
+    }
+
+    private MethodHandle spread(final MethodHandle target) {
+        return target.asType(eventType.changeReturnType(void.class)).asSpreader(Object[].class, parameters.size());
+    }
+
+    private MethodHandle collect(final MethodHandle arrayTaking) {
+        return arrayTaking.asCollector(Object[].class, parameters.size()).asType(eventType.changeReturnType(void.class));
+    }
+
+    private Mut create(final MethodHandle eventHandle) {
+        final MethodHandle[] handles = unsupported.clone();
+        handles[eventIndex] = eventHandle.asType(eventType);
+        return mut.cast(shape.create(handles));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mut[] newArray(final int size) {
+        return (Mut[]) Array.newInstance(mut, size);
+    }
+
+    private static Method findViewMethod(final Class<?> view, final Method method, final boolean event) {
+        for (final Method candidate : view.getMethods()) {
+            if (candidate.getName().equals(method.getName()) && candidate.getParameterCount() == method.getParameterCount() && (event ? candidate.getReturnType() == void.class : candidate.getReturnType() == method.getReturnType())) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("View " + view.getName() + " has no method matching " + method);
+    }
+
+    static void invoke(final MethodHandle target, final Object[] args) {
+        try {
+            target.invokeExact(args);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    private static void delay(/*Nullable*/ final EventStats stats, /*Nullable*/ final EventKey<?, ?> key, final Consumer<Runnable> consumer, final MethodHandle target, final Object[] args) {
+        if (stats != null) {
+            stats.delayQueued(key);
+        }
+        consumer.accept(() -> {
+            if (stats != null) {
+                stats.delayDrained(key);
+            }
+            invoke(target, args);
+        });
+    }
+
+    private static void observe(final Executor executor, final MethodHandle[] targets, final Object[] args) {
+        executor.execute(() -> {
+            for (final MethodHandle target : targets) {
+                invoke(target, args);
+            }
+        });
+    }
+
+    private static void push(final RuntimeBuffer<?> buffer, final Object[] args) {
+        buffer.push(args);
+    }
+
+    private static Object unsupported() {
+        throw new UnsupportedOperationException("Somebody tried to sort an invoker!");
+    }
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            UNSUPPORTED = lookup.findStatic(RuntimeFactory.class, "unsupported", MethodType.methodType(Object.class));
+            OBJECTS_EQUALS = lookup.findStatic(Objects.class, "equals", MethodType.methodType(boolean.class, Object.class, Object.class));
+            DELAY = lookup.findStatic(RuntimeFactory.class, "delay", MethodType.methodType(void.class, EventStats.class, EventKey.class, Consumer.class, MethodHandle.class, Object[].class));
+            OBSERVE = lookup.findStatic(RuntimeFactory.class, "observe", MethodType.methodType(void.class, Executor.class, MethodHandle[].class, Object[].class));
+            PUSH = lookup.findStatic(RuntimeFactory.class, "push", MethodType.methodType(void.class, RuntimeBuffer.class, Object[].class));
+            FIRED = lookup.findVirtual(EventStats.class, "fired", MethodType.methodType(void.class, EventKey.class, int.class));
+            TRACED = lookup.findVirtual(RuntimeFactory.class, "traced", MethodType.methodType(Object.class, Object[].class, Object[].class));
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -1,8 +1,22 @@
 package io.github.stuff_stuffs.event_gen.internal;
 
 import com.squareup.javapoet.*;
+import io.github.stuff_stuffs.event_gen.api.event.BandedComparator;
+import io.github.stuff_stuffs.event_gen.api.event.EventBuffer;
+import io.github.stuff_stuffs.event_gen.api.event.EventExceptionHandler;
 import io.github.stuff_stuffs.event_gen.api.event.EventKey;
+import io.github.stuff_stuffs.event_gen.api.event.EventLink;
+import io.github.stuff_stuffs.event_gen.api.event.EventLinker;
+import io.github.stuff_stuffs.event_gen.api.event.EventReductions;
+import io.github.stuff_stuffs.event_gen.api.event.EventRoutes;
+import io.github.stuff_stuffs.event_gen.api.event.EventStats;
+import io.github.stuff_stuffs.event_gen.api.event.EventTracer;
+import io.github.stuff_stuffs.event_gen.api.event.EventTracing;
 import io.github.stuff_stuffs.event_gen.api.event.gen.*;
+import io.github.stuff_stuffs.event_gen.api.event.journal.EventCodec;
+import io.github.stuff_stuffs.event_gen.api.event.journal.EventJournal;
+import io.github.stuff_stuffs.event_gen.api.event.journal.JournalOutput;
+import io.github.stuff_stuffs.event_gen.api.event.journal.ValueCodec;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.RoundEnvironment;
@@ -15,32 +29,55 @@ import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 @SupportedAnnotationTypes({"io.github.stuff_stuffs.event_gen.api.event.gen.EventInfo"})
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 public final class EventGenerator extends AbstractProcessor {
+    private static final int UNROLLED_INVOKER_SIZE = 3;
+    private final Map<Element, String> packages = new HashMap<>();
+    private final Map<Element, EventKeyLocation> keyLocations = new HashMap<>();
+    private final Map<Element, Optional<TypeMirror>> viewables = new HashMap<>();
+    private final Map<EventComparisonInfo, TypeMirror> comparedTypes = new IdentityHashMap<>();
+    private final Map<TypeName, MethodSpec> compareSpecs = new HashMap<>();
+    private final Map<TypeName, MethodSpec> invokerOrdSpecs = new HashMap<>();
+    private final Map<TypeName, MethodSpec> convertedOrdSpecs = new HashMap<>();
+
     @Override
     public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
-        final Map<String, List<FieldSpec>> entries = new HashMap<>();
+        packages.clear();
+        keyLocations.clear();
+        viewables.clear();
+        comparedTypes.clear();
+        final Map<String, List<KeyEntry>> entries = new HashMap<>();
         for (final TypeElement annotation : annotations) {
             for (final Element annotatedElement : roundEnv.getElementsAnnotatedWith(annotation)) {
                 if (annotatedElement.getKind() != ElementKind.METHOD) {
                     throw new IllegalStateException();
                 }
                 final KeyEntry entry = createEventFile((ExecutableElement) annotatedElement);
-                entries.computeIfAbsent(entry.keyFile(), s -> new ArrayList<>()).add(entry.spec());
+                entries.computeIfAbsent(entry.keyFile(), s -> new ArrayList<>()).add(entry);
             }
         }
-        for (final Map.Entry<String, List<FieldSpec>> entry : entries.entrySet()) {
+        for (final Map.Entry<String, List<KeyEntry>> entry : entries.entrySet()) {
             createKeyFile(entry.getKey(), entry.getValue());
         }
         return true;
     }
 
-    private void createKeyFile(final String loc, final List<FieldSpec> keys) {
+    private void createKeyFile(final String loc, final List<KeyEntry> keys) {
         final int index = loc.lastIndexOf('.');
         final String name;
         final String packageLoc;
@@ -51,9 +88,44 @@ public final class EventGenerator extends AbstractProcessor {
             packageLoc = loc.substring(0, index);
             name = loc.substring(index + 1);
         }
-        final TypeSpec spec = TypeSpec
-                .classBuilder(name)
-                .addFields(keys)
+        final List<KeyEntry> sorted = new ArrayList<>(keys);
+        sorted.sort(Comparator.comparing(KeyEntry::field));
+        final TypeSpec.Builder builder = TypeSpec.classBuilder(name);
+        builder.addField(
+                FieldSpec.builder(TypeName.INT, "KEY_COUNT", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", sorted.size())
+                        .build()
+        );
+        //Declared ahead of the keys, which are initialized in field order
+        builder.addField(
+                FieldSpec.builder(TypeName.INT, "BASE_ID", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.reserve(KEY_COUNT)", EventKey.class)
+                        .build()
+        );
+        final Element[] originatingElements = new Element[sorted.size()];
+        final List<CodeBlock> fields = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            final KeyEntry entry = sorted.get(i);
+            final FieldSpec keySpec = FieldSpec
+                    .builder(entry.type(), entry.field(), Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("new $T<>(BASE_ID + $L, $L)", EventKey.class, i, entry.key())
+                    .build();
+            builder.addField(keySpec).addOriginatingElement(entry.origin());
+            originatingElements[i] = entry.origin();
+            fields.add(CodeBlock.of("$N", keySpec));
+        }
+        final TypeName anyKey = ParameterizedTypeName.get(ClassName.get(EventKey.class), WildcardTypeName.subtypeOf(Object.class), WildcardTypeName.subtypeOf(Object.class));
+        builder.addField(
+                FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), anyKey), "KEYS", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.of($L)", List.class, CodeBlock.join(fields, ", "))
+                        .build()
+        );
+        builder.addField(
+                FieldSpec.builder(EventStats.class, "STATS", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T($S, KEYS)", EventStats.class, loc)
+                        .build()
+        );
+        final TypeSpec spec = builder
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addMethod(
                         MethodSpec
@@ -63,7 +135,7 @@ public final class EventGenerator extends AbstractProcessor {
                 ).build();
 
         final JavaFile file = JavaFile.builder(packageLoc, spec).build();
-        try (final var writer = processingEnv.getFiler().createSourceFile(loc).openWriter()) {
+        try (final var writer = processingEnv.getFiler().createSourceFile(loc, originatingElements).openWriter()) {
             writer.write(file.toString());
         } catch (final IOException e) {
             e.printStackTrace();
@@ -76,8 +148,11 @@ public final class EventGenerator extends AbstractProcessor {
         final EventKeyLocation keyLocation = findKeyLocation(executableElement);
         final String name = executableElement.getSimpleName().toString();
         final String packageLoc = findPackage(executableElement);
+        if (hasSyntheticNames(executableElement)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Parameter names of " + name + " were not kept, compile with -parameters so incremental builds generate the same code", executableElement);
+        }
         final TypeSpec.Builder builder = TypeSpec.interfaceBuilder(name);
-        builder.addModifiers(Modifier.PUBLIC);
+        builder.addModifiers(Modifier.PUBLIC).addOriginatingElement(executableElement);
         final TypeSpec.Builder view = TypeSpec.interfaceBuilder("View");
         view.addModifiers(Modifier.PUBLIC, Modifier.STATIC);
         final MethodSpec eventMethod = createEventMethod(executableElement);
@@ -91,10 +166,24 @@ public final class EventGenerator extends AbstractProcessor {
         view.addMethod(viewMethod);
         builder.addType(view.build());
         final ClassName className = ClassName.get(packageLoc, name);
+        final boolean linked = executableElement.getAnnotation(EventLinked.class) != null;
+        final EventParallelReduction parallel = executableElement.getAnnotation(EventParallelReduction.class);
+        final EventAsync async = executableElement.getAnnotation(EventAsync.class);
+        if (!eventMethod.returnType.equals(TypeName.VOID) && (linked || parallel != null || async != null && async.concurrent())) {
+            builder.addType(createCombinerClass(eventMethod, eventInfo));
+        }
+        if (linked) {
+            builder.addType(createLinkerClass(className, eventMethod, executableElement, eventInfo, compareInfo));
+        }
         final MethodSpec convertSpec = createConverterMethod(className, eventMethod, viewMethod, executableElement, eventInfo, compareInfo);
-        final MethodSpec invokerSpec = createInvokerMethod(className, eventMethod, eventInfo, compareInfo);
-        MethodSpec delaySpec = createDelayMethod(className, eventMethod, eventInfo, compareInfo);
-        final TypeSpec factoryClass = TypeSpec
+        final ClassName keysClass = keysClassName(keyLocation.location());
+        final String keyField = parse(name) + "_KEY";
+        final MethodSpec invokerSpec = createInvokerMethod(className);
+        final MethodSpec arrayInvokerSpec = createArrayInvokerMethod(className);
+        final MethodSpec sizedInvokerSpec = createSizedInvokerMethod(className, eventMethod, eventInfo, compareInfo);
+        final MethodSpec countedSpec = createCountedMethod(className, eventMethod, compareInfo, keysClass, keyField);
+        MethodSpec delaySpec = createDelayMethod(className, eventMethod, eventInfo, compareInfo, keysClass, keyField);
+        final TypeSpec.Builder factoryClass = TypeSpec
                 .anonymousClassBuilder("")
                 .addSuperinterface(
                         ParameterizedTypeName.get(
@@ -105,8 +194,19 @@ public final class EventGenerator extends AbstractProcessor {
                 )
                 .addMethod(convertSpec)
                 .addMethod(invokerSpec)
-                .addMethod(delaySpec)
-                .build();
+                .addMethod(arrayInvokerSpec)
+                .addMethod(sizedInvokerSpec)
+                .addMethod(countedSpec)
+                .addMethod(delaySpec);
+        if (executableElement.getAnnotation(EventBuffered.class) != null || executableElement.getAnnotation(EventCoalescing.class) != null) {
+            factoryClass.addMethod(createBufferMethod(className, eventMethod, executableElement, eventInfo, compareInfo, keysClass, keyField));
+        }
+        if (executableElement.getAnnotation(EventObserved.class) != null) {
+            factoryClass.addMethod(createSupportsMethod("supportsObservers")).addMethod(createObservedMethod(className, eventMethod, viewMethod, compareInfo));
+        }
+        if (linked) {
+            factoryClass.addMethod(createSupportsMethod("supportsLinking")).addMethod(createLinkMethod(className));
+        }
         final MethodSpec factoryMethod = MethodSpec
                 .methodBuilder("factory")
                 .returns(
@@ -117,39 +217,79 @@ public final class EventGenerator extends AbstractProcessor {
                         )
                 )
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                .addCode(CodeBlock.builder().addStatement("return $L", factoryClass).build()).build();
+                .addStatement("return FactoryHolder.FACTORY")
+                .build();
         builder.addMethod(factoryMethod);
+        builder.addType(
+                TypeSpec.classBuilder("FactoryHolder")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .addField(
+                                FieldSpec.builder(factoryMethod.returnType, "FACTORY", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                        .initializer("$L", factoryClass.build())
+                                        .build()
+                        )
+                        .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                        .build()
+        );
+        if (parallel != null) {
+            builder.addMethods(createParallelInvokerMethods(className, eventMethod, eventInfo, compareInfo, parallel));
+        }
+        if (executableElement.getAnnotation(EventIsolated.class) != null) {
+            builder.addMethod(createIsolatedInvokerMethod(className, eventMethod, eventInfo, compareInfo));
+        }
+        if (executableElement.getAnnotation(EventJournaled.class) != null) {
+            builder.addMethod(createCodecMethod(className, eventMethod, executableElement, compareInfo));
+        }
+        final MethodSpec routedSpec = createRoutedMethod(className, eventMethod, executableElement, compareInfo);
+        if (routedSpec != null) {
+            builder.addMethod(routedSpec);
+        }
+        if (async != null) {
+            final MethodSpec asyncMethod = createAsyncEventMethod(eventMethod);
+            builder.addType(TypeSpec.interfaceBuilder("Async").addModifiers(Modifier.PUBLIC, Modifier.STATIC).addMethod(asyncMethod).build());
+            builder.addMethod(createAsyncInvokerMethod(className, eventMethod, asyncMethod, eventInfo, compareInfo, async));
+        }
         final JavaFile file = JavaFile.builder(packageLoc, builder.build()).indent("    ").build();
-        try (final var writer = processingEnv.getFiler().createSourceFile(packageLoc + "." + name).openWriter()) {
+        try (final var writer = processingEnv.getFiler().createSourceFile(packageLoc + "." + name, executableElement).openWriter()) {
             writer.write(file.toString());
         } catch (final IOException e) {
             e.printStackTrace();
         }
-        final String initializer;
-        final List<Object> args;
-        if (compareInfo == null) {
-            initializer = "new EventKey<>($T.class, $T.class, null)";
-            args = List.of(className, className.nestedClass("View"));
+        final CodeBlock comparator = compareInfo == null ? CodeBlock.of("null") : createComparator(className, compareInfo);
+        final CodeBlock key = CodeBlock.of("$T.class, $T.class, $L, $T.factory()", className, className.nestedClass("View"), comparator, className);
+        final TypeName keyType = ParameterizedTypeName.get(ClassName.get(EventKey.class), className, className.nestedClass("View"));
+        return new KeyEntry(keyLocation.location(), parse(name) + "_KEY", keyType, key, executableElement);
+    }
+
+    private CodeBlock createComparator(final ClassName className, final EventComparisonInfo compareInfo) {
+        final TypeKind kind = mirrorFromCompareInfo(compareInfo).getKind();
+        final boolean intLike = kind == TypeKind.INT || kind == TypeKind.SHORT || kind == TypeKind.BYTE || kind == TypeKind.CHAR;
+        if (compareInfo.banded()) {
+            if (!intLike) {
+                throw new IllegalStateException("Banded comparison requires an int-like compared type!");
+            }
+            if (!compareInfo.comparator().isEmpty()) {
+                throw new IllegalStateException("Banded comparison does not take a comparator!");
+            }
+            //Complementing keeps the band order reversed without the overflow of negating Integer.MIN_VALUE
+            if (compareInfo.reversed()) {
+                return CodeBlock.of("$T.<$T>of(event -> ~event.ord())", BandedComparator.class, className);
+            }
+            return CodeBlock.of("$T.of($T::ord)", BandedComparator.class, className);
+        }
+        final CodeBlock comparator;
+        if (!compareInfo.comparator().isEmpty()) {
+            comparator = CodeBlock.of("$T.comparing($T::ord, $L)", Comparator.class, className, compareInfo.comparator());
+        } else if (intLike) {
+            comparator = CodeBlock.of("$T.comparingInt($T::ord)", Comparator.class, className);
+        } else if (kind == TypeKind.LONG) {
+            comparator = CodeBlock.of("$T.comparingLong($T::ord)", Comparator.class, className);
+        } else if (kind == TypeKind.FLOAT || kind == TypeKind.DOUBLE) {
+            comparator = CodeBlock.of("$T.comparingDouble($T::ord)", Comparator.class, className);
         } else {
-            initializer = "new EventKey<>($T.class, $T.class, java.util.Comparator.comparing($T::ord, $L))";
-            args = List.of(className, className.nestedClass("View"), className, compareInfo.comparator());
+            comparator = CodeBlock.of("$T.comparing($T::ord)", Comparator.class, className);
         }
-        final FieldSpec keySpec = FieldSpec
-                .builder(
-                        ParameterizedTypeName.get(
-                                ClassName.get(EventKey.class),
-                                className,
-                                className.nestedClass("View")
-                        ),
-                        parse(name) + "_KEY",
-                        Modifier.PUBLIC,
-                        Modifier.STATIC,
-                        Modifier.FINAL
-
-                )
-                .initializer(initializer, args.toArray())
-                .build();
-        return new KeyEntry(keyLocation.location(), keySpec);
+        return compareInfo.reversed() ? CodeBlock.of("$L.reversed()", comparator) : comparator;
     }
 
     private String parse(final String name) {
@@ -164,34 +304,29 @@ public final class EventGenerator extends AbstractProcessor {
         return builder.toString();
     }
 
+    //Split on the last dot instead of guessing from capitalization, key files may live in any package under any name
+    private static ClassName keysClassName(final String location) {
+        final int split = location.lastIndexOf('.');
+        if (split == -1) {
+            return ClassName.get("", location);
+        }
+        return ClassName.get(location.substring(0, split), location.substring(split + 1));
+    }
+
     private MethodSpec createCompareMethod(final EventComparisonInfo info) {
-        return MethodSpec
+        return compareSpecs.computeIfAbsent(TypeName.get(mirrorFromCompareInfo(info)), type -> MethodSpec
                 .methodBuilder("ord")
                 .addModifiers(
                         Modifier.PUBLIC,
                         Modifier.ABSTRACT
                 )
-                .returns(
-                        TypeName.get(
-                                mirrorFromCompareInfo(info)
-                        )
-                )
-                .build();
+                .returns(type)
+                .build());
     }
 
-    private MethodSpec createDelayMethod(final ClassName className, final MethodSpec eventMethod, final EventInfo eventInfo, final EventComparisonInfo compareInfo) {
-        String params = "";
-        boolean any = false;
-        final List<Object> args = new ArrayList<>();
-        args.add(eventMethod);
-        for (final ParameterSpec parameter : eventMethod.parameters) {
-            if (any) {
-                params = params + ",";
-            }
-            params = params + "$N";
-            args.add(parameter.name);
-            any = true;
-        }
+    private MethodSpec createDelayMethod(final ClassName className, final MethodSpec eventMethod, final EventInfo eventInfo, final EventComparisonInfo compareInfo, final ClassName keysClass, final String keyField) {
+        final String delegate = freeName("delegate", eventMethod);
+        final String consumer = freeName("consumer", eventMethod);
         final TypeSpec runDelegate = TypeSpec.anonymousClassBuilder("")
                 .addSuperinterface(Runnable.class)
                 .addMethod(
@@ -200,7 +335,10 @@ public final class EventGenerator extends AbstractProcessor {
                                 .addAnnotation(Override.class)
                                 .addCode(
                                         CodeBlock.builder()
-                                                .addStatement("delegate.$N(" + params + ")", args.toArray())
+                                                .beginControlFlow("if ($T.ENABLED)", EventStats.class)
+                                                .addStatement("$T.STATS.delayDrained($T.$L)", keysClass, keysClass, keyField)
+                                                .endControlFlow()
+                                                .addStatement("$L.$N($L)", delegate, eventMethod, createCallParams(eventMethod))
                                                 .build()
                                 )
                                 .build()
@@ -213,33 +351,31 @@ public final class EventGenerator extends AbstractProcessor {
         for (final ParameterSpec parameter : eventMethod.parameters) {
             wrapperMethod.addParameter(parameter);
         }
+        wrapperMethod.addCode(
+                CodeBlock.builder()
+                        .beginControlFlow("if ($T.ENABLED)", EventStats.class)
+                        .addStatement("$T.STATS.delayQueued($T.$L)", keysClass, keysClass, keyField)
+                        .endControlFlow()
+                        .build()
+        );
         if (eventMethod.returnType.equals(TypeName.VOID)) {
             wrapperMethod.addCode(
                     CodeBlock.builder()
-                            .addStatement("consumer.accept($L)", runDelegate)
+                            .addStatement("$L.accept($L)", consumer, runDelegate)
                             .addStatement("return")
                             .build()
             );
         } else {
             wrapperMethod.addCode(
                     CodeBlock.builder()
-                            .addStatement("consumer.accept($L)", runDelegate)
-                            .addStatement("return " + eventInfo.defaultValue())
+                            .addStatement("$L.accept($L)", consumer, runDelegate)
+                            .addStatement("return $L", createDefaultValue(eventMethod.returnType, eventInfo))
                             .build()
             );
         }
         final TypeSpec.Builder wrapper = TypeSpec.anonymousClassBuilder("").addSuperinterface(className).addMethod(wrapperMethod.build());
         if (compareInfo != null) {
-            final MethodSpec ordSpec = MethodSpec
-                    .methodBuilder("ord")
-                    .addModifiers(Modifier.PUBLIC)
-                    .returns(ClassName.get(mirrorFromCompareInfo(compareInfo)))
-                    .addStatement(
-                            "throw new $T(\"Somebody tried to sort an invoker!\")",
-                            ClassName.get(UnsupportedOperationException.class)
-                    )
-                    .build();
-            wrapper.addMethod(ordSpec);
+            wrapper.addMethod(createInvokerOrdMethod(compareInfo));
         }
         return MethodSpec
                 .methodBuilder("delay")
@@ -247,14 +383,14 @@ public final class EventGenerator extends AbstractProcessor {
                 .addAnnotation(Override.class)
                 .addParameter(
                         className,
-                        "delegate"
+                        delegate
                 )
                 .addParameter(
                         ParameterizedTypeName.get(
                                 Consumer.class,
                                 Runnable.class
                         ),
-                        "consumer"
+                        consumer
                 )
                 .returns(className)
                 .addCode(
@@ -264,69 +400,865 @@ public final class EventGenerator extends AbstractProcessor {
                 .build();
     }
 
-    private MethodSpec createInvokerMethod(final ClassName className, final MethodSpec eventMethod, final EventInfo eventInfo, final EventComparisonInfo compareInfo) {
-        String params = "";
-        boolean any = false;
-        final List<Object> args = new ArrayList<>();
-        args.add(eventMethod);
+    private MethodSpec createBufferMethod(final ClassName className, final MethodSpec eventMethod, final ExecutableElement element, final EventInfo eventInfo, final EventComparisonInfo compareInfo, final ClassName keysClass, final String keyField) {
+        final Types types = processingEnv.getTypeUtils();
+        final List<? extends VariableElement> parameters = element.getParameters();
+        final TypeSpec.Builder buffer = TypeSpec
+                .anonymousClassBuilder("")
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(EventBuffer.class), className))
+                .addField(TypeName.INT, "size", Modifier.PRIVATE)
+                .addField(TypeName.INT, "delivered", Modifier.PRIVATE);
+        final MethodSpec.Builder push = MethodSpec.methodBuilder("push").addModifiers(Modifier.PRIVATE);
+        final CodeBlock.Builder pushCode = CodeBlock.builder();
+        final EventCoalescing coalescing = element.getAnnotation(EventCoalescing.class);
+        final CodeBlock.Builder drainCode = CodeBlock.builder();
+        final CodeBlock.Builder finallyCode = CodeBlock.builder();
+        if (coalescing != null) {
+            //Slots hold a buffered index plus one, events already handed to the delegate can no longer absorb pushes
+            buffer
+                    .addField(FieldSpec.builder(TypeName.INT, "occupied", Modifier.PRIVATE).build())
+                    .addField(FieldSpec.builder(int[].class, "table", Modifier.PRIVATE).initializer("new int[16]").build());
+            final List<Integer> keys = coalescingKeys(parameters, coalescing);
+            final CodeBlock.Builder hashCode = CodeBlock.builder();
+            final MethodSpec.Builder hash = MethodSpec.methodBuilder("hash").addModifiers(Modifier.PRIVATE).returns(TypeName.INT);
+            final List<CodeBlock> hashArgs = new ArrayList<>();
+            final List<CodeBlock> equal = new ArrayList<>();
+            if (keys.isEmpty()) {
+                hashCode.addStatement("return 0");
+                equal.add(CodeBlock.of("true"));
+            } else {
+                hashCode.addStatement("int hash = 0");
+                for (final int key : keys) {
+                    final TypeMirror erased = types.erasure(parameters.get(key).asType());
+                    hash.addParameter(TypeName.get(erased), "value" + key, Modifier.FINAL);
+                    hashArgs.add(CodeBlock.of("args$L[index]", key));
+                    hashCode.addStatement("hash = 31 * hash + $L", coalescingHash(erased, CodeBlock.of("value$L", key)));
+                    equal.add(coalescingEquals(erased, CodeBlock.of("args$L[index]", key), CodeBlock.of("value$L", key)));
+                }
+                hashCode.addStatement("return hash ^ (hash >>> 16)");
+            }
+            buffer
+                    .addMethod(hash.addCode(hashCode.build()).build())
+                    .addMethod(
+                            MethodSpec.methodBuilder("rehash")
+                                    .addModifiers(Modifier.PRIVATE)
+                                    .addStatement("table = new int[Math.max(16, Integer.highestOneBit(size - delivered + 1) * 4)]")
+                                    .addStatement("final int mask = table.length - 1")
+                                    .beginControlFlow("for (int index = delivered; index < size; index++)")
+                                    .addStatement("int slot = hash($L) & mask", CodeBlock.join(hashArgs, ", "))
+                                    .beginControlFlow("while (table[slot] != 0)")
+                                    .addStatement("slot = (slot + 1) & mask")
+                                    .endControlFlow()
+                                    .addStatement("table[slot] = index + 1")
+                                    .endControlFlow()
+                                    .addStatement("occupied = size - delivered")
+                                    .build()
+                    );
+            final List<CodeBlock> pushHashArgs = new ArrayList<>();
+            for (final int key : keys) {
+                pushHashArgs.add(CodeBlock.of("value$L", key));
+            }
+            pushCode
+                    .beginControlFlow("if ((occupied + 1) * 2 > table.length)")
+                    .addStatement("rehash()")
+                    .endControlFlow()
+                    .addStatement("final int mask = table.length - 1")
+                    .addStatement("int slot = hash($L) & mask", CodeBlock.join(pushHashArgs, ", "))
+                    .addStatement("boolean reused = false")
+                    .beginControlFlow("while (table[slot] != 0)")
+                    .addStatement("final int index = table[slot] - 1")
+                    .beginControlFlow("if ($L)", CodeBlock.join(equal, " && "))
+                    .beginControlFlow("if (index < delivered)")
+                    .addStatement("reused = true")
+                    .addStatement("break")
+                    .endControlFlow();
+            if (coalescing.policy() == EventCoalescing.Policy.LAST_WRITE_WINS) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    pushCode.addStatement("args$L[index] = value$L", i, i);
+                }
+            }
+            pushCode
+                    .addStatement("return")
+                    .endControlFlow()
+                    .addStatement("slot = (slot + 1) & mask")
+                    .endControlFlow()
+                    .addStatement("table[slot] = size + 1")
+                    .beginControlFlow("if (!reused)")
+                    .addStatement("occupied++")
+                    .endControlFlow();
+            //Runs after the tail moved to the front, so the kept events can still absorb pushes
+            finallyCode
+                    .beginControlFlow("if (occupied != 0)")
+                    .addStatement("$T.fill(table, 0)", Arrays.class)
+                    .addStatement("occupied = 0")
+                    .endControlFlow()
+                    .beginControlFlow("if (size != 0)")
+                    .addStatement("rehash()")
+                    .endControlFlow();
+        }
+        pushCode
+                .beginControlFlow("if (size == $L)", parameters.isEmpty() ? "length" : "args0.length")
+                .addStatement("grow()")
+                .endControlFlow();
+        final CodeBlock.Builder growCode = CodeBlock.builder().addStatement("final int capacity = Math.max(size * 2, 8)");
+        final List<CodeBlock> drainArgs = new ArrayList<>();
+        final CodeBlock.Builder compactCode = CodeBlock.builder();
+        final CodeBlock.Builder clearCode = CodeBlock.builder();
+        boolean unchecked = false;
+        for (int i = 0; i < parameters.size(); i++) {
+            final TypeMirror type = parameters.get(i).asType();
+            final TypeMirror erased = types.erasure(type);
+            unchecked |= !types.isSameType(type, erased);
+            final TypeName erasedName = TypeName.get(erased);
+            final String field = "args" + i;
+            buffer.addField(
+                    FieldSpec.builder(ArrayTypeName.of(erasedName), field, Modifier.PRIVATE)
+                            .initializer("new $T[capacity]", erasedName)
+                            .build()
+            );
+            push.addParameter(erasedName, "value" + i, Modifier.FINAL);
+            pushCode.addStatement("$N[size] = value$L", field, i);
+            growCode.addStatement("$N = $T.copyOf($N, capacity)", field, Arrays.class, field);
+            drainArgs.add(CodeBlock.of("$N[i]", field));
+            compactCode.addStatement("$T.arraycopy($N, delivered, $N, 0, remaining)", System.class, field, field);
+            if (!erased.getKind().isPrimitive()) {
+                clearCode.addStatement("$T.fill($N, remaining, size, null)", Arrays.class, field);
+            }
+        }
+        if (parameters.isEmpty()) {
+            buffer.addField(FieldSpec.builder(TypeName.INT, "length", Modifier.PRIVATE).initializer("capacity").build());
+            growCode.addStatement("length = capacity");
+        }
+        //Coalesced pushes replace a queued event, so only new slots count as queued
+        pushCode
+                .beginControlFlow("if ($T.ENABLED)", EventStats.class)
+                .addStatement("$T.STATS.delayQueued($T.$L)", keysClass, keysClass, keyField)
+                .endControlFlow();
+        push.addCode(pushCode.addStatement("size++").build());
+        final CodeBlock.Builder sinkCode = CodeBlock.builder().addStatement("push($L)", createCallParams(eventMethod));
+        if (eventMethod.returnType.equals(TypeName.VOID)) {
+            sinkCode.addStatement("return");
+        } else {
+            sinkCode.addStatement("return $L", createDefaultValue(eventMethod.returnType, eventInfo));
+        }
+        //A throwing delegate leaves the undelivered tail queued at the front, delivered events never replay
+        final CodeBlock.Builder finishCode = CodeBlock.builder().addStatement("final int remaining = size - delivered");
+        if (!compactCode.isEmpty()) {
+            finishCode
+                    .beginControlFlow("if (remaining != 0)")
+                    .add(compactCode.build())
+                    .endControlFlow();
+        }
+        finishCode
+                .add(clearCode.build())
+                .addStatement("size = remaining")
+                .addStatement("delivered = 0");
+        final MethodSpec.Builder drain = MethodSpec
+                .methodBuilder("drain")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addCode(
+                        drainCode
+                                .beginControlFlow("try")
+                                .beginControlFlow("while (delivered < size)")
+                                .addStatement("final int i = delivered++")
+                                .addStatement("delegate.$N($L)", eventMethod, CodeBlock.join(drainArgs, ", "))
+                                .beginControlFlow("if ($T.ENABLED)", EventStats.class)
+                                .addStatement("$T.STATS.delayDrained($T.$L)", keysClass, keysClass, keyField)
+                                .endControlFlow()
+                                .endControlFlow()
+                                .nextControlFlow("finally")
+                                .add(finishCode.build())
+                                .add(finallyCode.build())
+                                .endControlFlow()
+                                .build()
+                );
+        buffer
+                .addField(
+                        FieldSpec.builder(className, "sink", Modifier.PRIVATE, Modifier.FINAL)
+                                .initializer("$L", createInvokerClass(className, eventMethod, compareInfo, sinkCode.build()))
+                                .build()
+                )
+                .addMethod(
+                        MethodSpec.methodBuilder("sink")
+                                .addModifiers(Modifier.PUBLIC)
+                                .addAnnotation(Override.class)
+                                .returns(className)
+                                .addStatement("return sink")
+                                .build()
+                )
+                .addMethod(
+                        MethodSpec.methodBuilder("size")
+                                .addModifiers(Modifier.PUBLIC)
+                                .addAnnotation(Override.class)
+                                .returns(TypeName.INT)
+                                .addStatement("return size")
+                                .build()
+                )
+                .addMethod(drain.build())
+                .addMethod(push.build())
+                .addMethod(
+                        MethodSpec.methodBuilder("grow")
+                                .addModifiers(Modifier.PRIVATE)
+                                .addCode(growCode.build())
+                                .build()
+                );
+        final MethodSpec.Builder method = MethodSpec
+                .methodBuilder("buffer")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(className, "delegate", Modifier.FINAL)
+                .addParameter(TypeName.INT, "capacity", Modifier.FINAL)
+                .returns(ParameterizedTypeName.get(ClassName.get(EventBuffer.class), className));
+        if (unchecked) {
+            //Generic parameters are stored in arrays of their raw erasure
+            method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "{$S, $S}", "rawtypes", "unchecked").build());
+        }
+        return method.addStatement("return $L", buffer.build()).build();
+    }
+
+    private List<Integer> coalescingKeys(final List<? extends VariableElement> parameters, final EventCoalescing coalescing) {
+        final List<Integer> keys = new ArrayList<>();
+        if (coalescing.keys().length == 0) {
+            for (int i = 0; i < parameters.size(); i++) {
+                keys.add(i);
+            }
+            return keys;
+        }
+        for (final String key : coalescing.keys()) {
+            int index = -1;
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i).getSimpleName().contentEquals(key)) {
+                    index = i;
+                }
+            }
+            if (index == -1) {
+                throw new IllegalStateException("Unknown coalescing key: " + key + (hasSyntheticNames(parameters) ? ", parameter names were not kept, compile with -parameters" : ""));
+            }
+            keys.add(index);
+        }
+        return keys;
+    }
+
+    //Methods read back from class files without -parameters, as aggregating incremental builds do for unchanged sources, get javac's arg0, arg1... names
+    private static boolean hasSyntheticNames(final ExecutableElement element) {
+        return hasSyntheticNames(element.getParameters());
+    }
+
+    private static boolean hasSyntheticNames(final List<? extends VariableElement> parameters) {
+        if (parameters.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            if (!parameters.get(i).getSimpleName().contentEquals("arg" + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Same results as the boxed hashCode, without the box
+    private static CodeBlock coalescingHash(final TypeMirror type, final CodeBlock value) {
+        return switch (type.getKind()) {
+            case BYTE, SHORT, CHAR, INT -> value;
+            case LONG -> CodeBlock.of("$T.hashCode($L)", Long.class, value);
+            case FLOAT -> CodeBlock.of("$T.hashCode($L)", Float.class, value);
+            case DOUBLE -> CodeBlock.of("$T.hashCode($L)", Double.class, value);
+            case BOOLEAN -> CodeBlock.of("$T.hashCode($L)", Boolean.class, value);
+            default -> CodeBlock.of("$T.hashCode($L)", Objects.class, value);
+        };
+    }
+
+    //Same results as the boxed equals, so NaN matches itself and -0.0 does not match 0.0
+    private static CodeBlock coalescingEquals(final TypeMirror type, final CodeBlock first, final CodeBlock second) {
+        return switch (type.getKind()) {
+            case BYTE, SHORT, CHAR, INT, LONG, BOOLEAN -> CodeBlock.of("$L == $L", first, second);
+            case FLOAT -> CodeBlock.of("$T.floatToIntBits($L) == $T.floatToIntBits($L)", Float.class, first, Float.class, second);
+            case DOUBLE -> CodeBlock.of("$T.doubleToLongBits($L) == $T.doubleToLongBits($L)", Double.class, first, Double.class, second);
+            default -> CodeBlock.of("$T.equals($L, $L)", Objects.class, first, second);
+        };
+    }
+
+    private MethodSpec createObservedMethod(final ClassName className, final MethodSpec eventMethod, final MethodSpec viewMethod, final EventComparisonInfo compareInfo) {
+        final ClassName viewName = className.nestedClass("View");
+        final CodeBlock params = createCallParams(eventMethod);
+        final String invoker = freeName("invoker", eventMethod);
+        final String executor = freeName("executor", eventMethod);
+        final String copy = freeName("copy", eventMethod);
+        final String observer = freeName("observer", eventMethod);
+        final String res = freeName("res", eventMethod);
+        //One task per fire, it runs the observers in order
+        final TypeSpec task = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(
+                        MethodSpec.methodBuilder("run")
+                                .addModifiers(Modifier.PUBLIC)
+                                .addAnnotation(Override.class)
+                                .beginControlFlow("for (final $T $L : $L)", viewName, observer, copy)
+                                .addStatement("$L.$N($L)", observer, viewMethod, params)
+                                .endControlFlow()
+                                .build()
+                ).build();
+        final boolean isVoid = eventMethod.returnType.equals(TypeName.VOID);
+        final CodeBlock.Builder code = CodeBlock.builder();
+        if (isVoid) {
+            code.addStatement("$L.$N($L)", invoker, eventMethod, params);
+        } else {
+            code.addStatement("final $T $L = $L.$N($L)", eventMethod.returnType, res, invoker, eventMethod, params);
+        }
+        code
+                .addStatement("$L.execute($L)", executor, task)
+                .addStatement(isVoid ? CodeBlock.of("return") : CodeBlock.of("return $L", res));
+        return MethodSpec
+                .methodBuilder("observed")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(className, invoker, Modifier.FINAL)
+                .addParameter(ArrayTypeName.of(viewName), "observers")
+                .addParameter(Executor.class, executor, Modifier.FINAL)
+                .returns(className)
+                .addStatement("final $T[] $L = observers.clone()", viewName, copy)
+                .addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, code.build()))
+                .build();
+    }
+
+    private static MethodSpec createSupportsMethod(final String name) {
+        return MethodSpec
+                .methodBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(TypeName.BOOLEAN)
+                .addStatement("return true")
+                .build();
+    }
+
+    private MethodSpec createLinkMethod(final ClassName className) {
+        return MethodSpec
+                .methodBuilder("link")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(ArrayTypeName.of(className), "events")
+                .returns(ParameterizedTypeName.get(ClassName.get(EventLink.class), className))
+                .addStatement("return new $T(events.clone())", className.nestedClass("Linker"))
+                .build();
+    }
+
+    private TypeSpec createCombinerClass(final MethodSpec eventMethod, final EventInfo eventInfo) {
+        final TypeSpec.Builder combiner = TypeSpec
+                .classBuilder("Combiner")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addMethod(
+                        MethodSpec.methodBuilder("initial")
+                                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                .addTypeVariables(eventMethod.typeVariables)
+                                .returns(eventMethod.returnType)
+                                .addStatement("return $L", createDefaultValue(eventMethod.returnType, eventInfo))
+                                .build()
+                )
+                .addMethod(
+                        MethodSpec.methodBuilder("combine")
+                                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                .addTypeVariables(eventMethod.typeVariables)
+                                .returns(eventMethod.returnType)
+                                .addParameter(eventMethod.returnType, "res")
+                                .addParameter(eventMethod.returnType, "r", Modifier.FINAL)
+                                .addStatement(createCombine(eventMethod.returnType, eventInfo, "res", CodeBlock.of("r")))
+                                .addStatement("return res")
+                                .build()
+                );
+        final CodeBlock test = createShortCircuitTest(eventMethod, eventInfo, "res");
+        if (test != null) {
+            combiner.addMethod(
+                    MethodSpec.methodBuilder("absorbing")
+                            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                            .addTypeVariables(eventMethod.typeVariables)
+                            .returns(TypeName.BOOLEAN)
+                            .addParameter(eventMethod.returnType, "res", Modifier.FINAL)
+                            .addStatement("return $L", test)
+                            .build()
+            );
+        }
+        return combiner.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build()).build();
+    }
+
+    private TypeSpec createLinkerClass(final ClassName className, final MethodSpec eventMethod, final ExecutableElement element, final EventInfo eventInfo, final EventComparisonInfo compareInfo) {
+        final Types types = processingEnv.getTypeUtils();
+        final ClassName combinerName = className.nestedClass("Combiner");
+        final boolean isVoid = eventMethod.returnType.equals(TypeName.VOID);
+        final TypeName erasedReturn = TypeName.get(types.erasure(element.getReturnType()));
+        final List<CodeBlock> erasedParameters = new ArrayList<>();
+        erasedParameters.add(CodeBlock.of("$T.class", erasedReturn));
+        for (final VariableElement parameter : element.getParameters()) {
+            erasedParameters.add(CodeBlock.of("$T.class", TypeName.get(types.erasure(parameter.asType()))));
+        }
+        final CodeBlock eventType = CodeBlock.of("$T.methodType($L)", MethodType.class, CodeBlock.join(erasedParameters, ", "));
+        final TypeSpec.Builder linker = TypeSpec
+                .classBuilder("Linker")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(EventLink.class), className))
+                .addField(MethodHandle.class, "EVENT", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(MutableCallSite.class, "site", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(className, "invoker", Modifier.PRIVATE, Modifier.FINAL);
+        final CodeBlock.Builder init = CodeBlock.builder()
+                .beginControlFlow("try")
+                .addStatement("final $T lookup = $T.lookup()", MethodHandles.Lookup.class, MethodHandles.class)
+                .addStatement("EVENT = lookup.findVirtual($T.class, $S, $L)", className, eventMethod.name, eventType);
+        final CodeBlock fold;
+        if (isVoid) {
+            fold = CodeBlock.of("$T.fold(EVENT, events)", EventLinker.class);
+        } else {
+            linker
+                    .addField(MethodHandle.class, "INITIAL", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .addField(MethodHandle.class, "COMBINE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .addField(MethodHandle.class, "ABSORBING", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
+            init
+                    .addStatement("INITIAL = lookup.findStatic($T.class, \"initial\", $T.methodType($T.class))", combinerName, MethodType.class, erasedReturn)
+                    .addStatement("COMBINE = lookup.findStatic($T.class, \"combine\", $T.methodType($T.class, $T.class, $T.class))", combinerName, MethodType.class, erasedReturn, erasedReturn, erasedReturn);
+            if (createShortCircuitTest(eventMethod, eventInfo, "res") != null) {
+                init.addStatement("ABSORBING = lookup.findStatic($T.class, \"absorbing\", $T.methodType(boolean.class, $T.class))", combinerName, MethodType.class, erasedReturn);
+            } else {
+                init.addStatement("ABSORBING = null");
+            }
+            fold = CodeBlock.of("$T.fold(EVENT, events, INITIAL, COMBINE, ABSORBING)", EventLinker.class);
+        }
+        init
+                .nextControlFlow("catch (final $T e)", ReflectiveOperationException.class)
+                .addStatement("throw new $T(e)", ExceptionInInitializerError.class)
+                .endControlFlow();
+        final String handle = freeName("handle", eventMethod);
+        final String e = freeName("e", eventMethod);
+        final String t = freeName("t", eventMethod);
+        final CodeBlock.Builder invoke = CodeBlock.builder().beginControlFlow("try");
+        if (isVoid) {
+            invoke.addStatement("$L.invokeExact($L)", handle, createCallParams(eventMethod));
+        } else {
+            invoke.addStatement("return ($T) $L.invokeExact($L)", eventMethod.returnType, handle, createCallParams(eventMethod));
+        }
+        invoke
+                .nextControlFlow("catch (final $T | $T $L)", RuntimeException.class, Error.class, e)
+                .addStatement("throw $L", e)
+                .nextControlFlow("catch (final $T $L)", Throwable.class, t)
+                .addStatement("throw new $T($L)", UndeclaredThrowableException.class, t)
+                .endControlFlow();
+        return linker
+                .addStaticBlock(init.build())
+                .addMethod(
+                        MethodSpec.constructorBuilder()
+                                .addModifiers(Modifier.PRIVATE)
+                                .addParameter(ArrayTypeName.of(className), "events", Modifier.FINAL)
+                                .addStatement("site = new $T(link(events))", MutableCallSite.class)
+                                .addStatement("final $T $L = site.dynamicInvoker()", MethodHandle.class, handle)
+                                .addStatement("invoker = $L", createInvokerClass(className, eventMethod, compareInfo, invoke.build()))
+                                .build()
+                )
+                .addMethod(
+                        MethodSpec.methodBuilder("invoker")
+                                .addModifiers(Modifier.PUBLIC)
+                                .addAnnotation(Override.class)
+                                .returns(className)
+                                .addStatement("return invoker")
+                                .build()
+                )
+                .addMethod(
+                        MethodSpec.methodBuilder("relink")
+                                .addModifiers(Modifier.PUBLIC)
+                                .addAnnotation(Override.class)
+                                .addParameter(ArrayTypeName.of(className), "events", Modifier.FINAL)
+                                .addStatement("site.setTarget(link(events.clone()))")
+                                .addStatement("$T.syncAll(new $T[]{site})", MutableCallSite.class, MutableCallSite.class)
+                                .build()
+                )
+                .addMethod(
+                        MethodSpec.methodBuilder("link")
+                                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                .addParameter(ArrayTypeName.of(className), "events", Modifier.FINAL)
+                                .returns(MethodHandle.class)
+                                .addStatement("return $L", fold)
+                                .build()
+                )
+                .build();
+    }
+
+    private MethodSpec createIsolatedInvokerMethod(final ClassName className, final MethodSpec eventMethod, final EventInfo eventInfo, final EventComparisonInfo compareInfo) {
+        final CodeBlock params = createCallParams(eventMethod);
+        final boolean isVoid = eventMethod.returnType.equals(TypeName.VOID);
+        final String current = freeName("current", eventMethod);
+        final String res = freeName("res", eventMethod);
+        final String r = freeName("r", eventMethod);
+        final String i = freeName("i", eventMethod);
+        final String e = freeName("e", eventMethod);
+        final CodeBlock.Builder code = CodeBlock.builder().addStatement("final $T[] $L = this.listeners", className, current);
+        if (!isVoid) {
+            code.addStatement("$T $L = $L", eventMethod.returnType, res, createDefaultValue(eventMethod.returnType, eventInfo));
+        }
+        //One try region around the whole loop, a failure resumes at the next listener
+        code
+                .addStatement("int $L = 0", i)
+                .beginControlFlow("while ($L < $L.length)", i, current)
+                .beginControlFlow("try")
+                .beginControlFlow("for (; $L < $L.length; $L++)", i, current, i);
+        if (isVoid) {
+            code.addStatement("$L[$L].$N($L)", current, i, eventMethod, params);
+        } else {
+            code
+                    .addStatement("final var $L = $L[$L].$N($L)", r, current, i, eventMethod, params)
+                    .addStatement(createCombine(eventMethod.returnType, eventInfo, res, CodeBlock.of("$L", r)));
+            addShortCircuit(code, eventMethod, eventInfo, res);
+        }
+        code
+                .endControlFlow()
+                .nextControlFlow("catch (final $T $L)", RuntimeException.class, e)
+                .addStatement("failed($L[$L], $L)", current, i, e)
+                .addStatement("$L++", i)
+                .endControlFlow()
+                .endControlFlow();
+        if (isVoid) {
+            code.addStatement("return");
+        } else {
+            code.addStatement("return $L", res);
+        }
+        final MethodSpec failed = MethodSpec
+                .methodBuilder("failed")
+                .addModifiers(Modifier.PRIVATE, Modifier.SYNCHRONIZED)
+                .addParameter(className, "listener", Modifier.FINAL)
+                .addParameter(RuntimeException.class, "e", Modifier.FINAL)
+                .addStatement("final $T[] current = listeners", className)
+                .addStatement("int index = -1")
+                .beginControlFlow("for (int j = 0; j < current.length; j++)")
+                .beginControlFlow("if (current[j] == listener)")
+                .addStatement("index = j")
+                .addStatement("break")
+                .endControlFlow()
+                .endControlFlow()
+                .beginControlFlow("if (index == -1)")
+                .addStatement("handler.listenerFailed($T.class, listener, e, false)", className)
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("final boolean quarantined = quarantineAfter > 0 && ++failures[index] >= quarantineAfter")
+                .beginControlFlow("if (quarantined)")
+                .addStatement("final $T[] next = new $T[current.length - 1]", className, className)
+                .addStatement("final int[] nextFailures = new int[next.length]")
+                .addStatement("$T.arraycopy(current, 0, next, 0, index)", System.class)
+                .addStatement("$T.arraycopy(current, index + 1, next, index, next.length - index)", System.class)
+                .addStatement("$T.arraycopy(failures, 0, nextFailures, 0, index)", System.class)
+                .addStatement("$T.arraycopy(failures, index + 1, nextFailures, index, next.length - index)", System.class)
+                .addStatement("failures = nextFailures")
+                .addStatement("listeners = next")
+                .endControlFlow()
+                .addStatement("handler.listenerFailed($T.class, listener, e, quarantined)", className)
+                .build();
+        final TypeSpec isolated = createInvokerClass(className, eventMethod, compareInfo, code.build())
+                .toBuilder()
+                .addField(
+                        FieldSpec.builder(ArrayTypeName.of(className), "listeners", Modifier.PRIVATE, Modifier.VOLATILE)
+                                .initializer("events.clone()")
+                                .build()
+                )
+                .addField(
+                        FieldSpec.builder(int[].class, "failures", Modifier.PRIVATE)
+                                .initializer("new int[events.length]")
+                                .build()
+                )
+                .addMethod(failed)
+                .build();
+        return MethodSpec
+                .methodBuilder("isolatedInvoker")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ArrayTypeName.of(className), "events", Modifier.FINAL)
+                .addParameter(EventExceptionHandler.class, "handler", Modifier.FINAL)
+                .addParameter(TypeName.INT, "quarantineAfter", Modifier.FINAL)
+                .returns(className)
+                .addStatement("return $L", isolated)
+                .build();
+    }
+
+    private MethodSpec createCodecMethod(final ClassName className, final MethodSpec eventMethod, final ExecutableElement element, final EventComparisonInfo compareInfo) {
+        final Types types = processingEnv.getTypeUtils();
+        final List<? extends VariableElement> parameters = element.getParameters();
+        final MethodSpec.Builder method = MethodSpec
+                .methodBuilder("codec")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(EventCodec.class), className));
+        final String out = freeName("out", eventMethod);
+        final String journal = freeName("journal", eventMethod);
+        final String type = freeName("type", eventMethod);
+        final String delegate = freeName("delegate", eventMethod);
+        final CodeBlock.Builder record = CodeBlock.builder().addStatement("final $T $L = $L.output()", JournalOutput.class, out, journal);
+        final CodeBlock.Builder replay = CodeBlock.builder();
+        final List<CodeBlock> values = new ArrayList<>();
+        boolean unchecked = false;
+        for (int i = 0; i < parameters.size(); i++) {
+            final VariableElement parameter = parameters.get(i);
+            final TypeMirror mirror = parameter.asType();
+            final ParameterSpec parameterSpec = eventMethod.parameters.get(i);
+            if (mirror.getKind().isPrimitive()) {
+                final String suffix = switch (mirror.getKind()) {
+                    case BOOLEAN -> "Boolean";
+                    case BYTE -> "Byte";
+                    case SHORT -> "Short";
+                    case CHAR -> "Char";
+                    case INT -> "Int";
+                    case LONG -> "Long";
+                    case FLOAT -> "Float";
+                    case DOUBLE -> "Double";
+                    default -> throw new IllegalStateException("Unknown primitive: " + mirror);
+                };
+                record.addStatement("$L.write$L($N)", out, suffix, parameterSpec);
+                if (mirror.getKind() == TypeKind.BOOLEAN) {
+                    replay.addStatement("final boolean value$L = in.get() != 0", i);
+                } else if (mirror.getKind() == TypeKind.BYTE) {
+                    replay.addStatement("final byte value$L = in.get()", i);
+                } else {
+                    replay.addStatement("final $T value$L = in.get$L()", TypeName.get(mirror), i, suffix);
+                }
+            } else {
+                final TypeMirror erased = types.erasure(mirror);
+                unchecked |= !types.isSameType(erased, mirror);
+                final String codecName = freeName(parameter.getSimpleName() + "Codec", eventMethod);
+                method.addParameter(ParameterizedTypeName.get(ClassName.get(ValueCodec.class), TypeName.get(erased)), codecName, Modifier.FINAL);
+                record.addStatement("$L.write($L, $N)", codecName, out, parameterSpec);
+                replay.addStatement("final $T value$L = $L.read(in)", TypeName.get(erased), i, codecName);
+            }
+            values.add(CodeBlock.of("value$L", i));
+        }
+        record.addStatement("$L.append($L, $L)", journal, type, out);
+        if (eventMethod.returnType.equals(TypeName.VOID)) {
+            record.addStatement("$L.$N($L)", delegate, eventMethod, createCallParams(eventMethod));
+        } else {
+            record.addStatement("return $L.$N($L)", delegate, eventMethod, createCallParams(eventMethod));
+        }
+        replay.addStatement("target.$N($L)", eventMethod, CodeBlock.join(values, ", "));
+        final MethodSpec.Builder replaySpec = MethodSpec
+                .methodBuilder("replay")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ByteBuffer.class, "in", Modifier.FINAL)
+                .addParameter(className, "target", Modifier.FINAL)
+                .addCode(replay.build());
+        if (unchecked) {
+            //Generic parameters are read back through raw codecs of their erasure
+            method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "{$S, $S}", "rawtypes", "unchecked").build());
+        }
+        final TypeSpec codec = TypeSpec
+                .anonymousClassBuilder("")
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(EventCodec.class), className))
+                .addMethod(
+                        MethodSpec.methodBuilder("recorder")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(EventJournal.class, journal, Modifier.FINAL)
+                                .addParameter(TypeName.INT, type, Modifier.FINAL)
+                                .addParameter(className, delegate, Modifier.FINAL)
+                                .returns(className)
+                                .addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, record.build()))
+                                .build()
+                )
+                .addMethod(replaySpec.build())
+                .build();
+        return method.addStatement("return $L", codec).build();
+    }
+
+    //Generated bodies declare their own parameters and locals next to the event parameters, so every such name comes from here and skips the event's parameter names
+    private String freeName(final String name, final MethodSpec eventMethod) {
+        String candidate = name;
+        int suffix = 0;
+        while (hasParameter(eventMethod, candidate)) {
+            candidate = name + suffix++;
+        }
+        return candidate;
+    }
+
+    private static boolean hasParameter(final MethodSpec eventMethod, final String name) {
         for (final ParameterSpec parameter : eventMethod.parameters) {
-            if (any) {
-                params = params + ",";
+            if (parameter.name.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private /*Nullable*/ MethodSpec createRoutedMethod(final ClassName className, final MethodSpec eventMethod, final ExecutableElement element, final EventComparisonInfo compareInfo) {
+        final List<? extends VariableElement> parameters = element.getParameters();
+        int index = -1;
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameters.get(i).getAnnotation(EventRoute.class) != null) {
+                if (index != -1) {
+                    throw new IllegalStateException("Only one parameter can be routed!");
+                }
+                index = i;
             }
-            params = params + "$N";
-            args.add(parameter.name);
-            any = true;
         }
+        if (index == -1) {
+            return null;
+        }
+        final TypeMirror routed = parameters.get(index).asType();
+        //Integral routes use the long lookup so they never box, the key type does not matter there
+        final TypeName routesType;
+        switch (routed.getKind()) {
+            case BYTE, SHORT, CHAR, INT, LONG -> routesType = ParameterizedTypeName.get(ClassName.get(EventRoutes.class), WildcardTypeName.subtypeOf(Object.class), className);
+            default -> routesType = ParameterizedTypeName.get(ClassName.get(EventRoutes.class), WildcardTypeName.supertypeOf(TypeName.get(processingEnv.getTypeUtils().erasure(routed)).box()), className);
+        }
+        final String routes = freeName("routes", eventMethod);
+        final CodeBlock call = CodeBlock.of("$L.invoker($N).$N($L)", routes, eventMethod.parameters.get(index), eventMethod, createCallParams(eventMethod));
         final CodeBlock code;
         if (eventMethod.returnType.equals(TypeName.VOID)) {
-            code = CodeBlock
-                    .builder()
-                    .add("for(var event: events) {\n")
-                    .indent()
-                    .addStatement("event.$N(" + params + ")", args.toArray())
-                    .unindent()
-                    .add("}\n")
-                    .addStatement("return")
-                    .build();
+            code = CodeBlock.builder().addStatement(call).build();
         } else {
-            code = CodeBlock
-                    .builder()
-                    .addStatement("var res = " + eventInfo.defaultValue())
-                    .add("for(var event: events) {\n")
-                    .indent()
-                    .addStatement("final var r = event.$N(" + params + ")", args.toArray())
-                    .addStatement("res = " + eventInfo.combiner() + "(res, r)")
-                    .unindent()
-                    .add("}\n")
-                    .addStatement("return res")
-                    .build();
+            code = CodeBlock.builder().addStatement("return $L", call).build();
         }
-        final MethodSpec invokeSpec = MethodSpec
+        return MethodSpec
+                .methodBuilder("routed")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(routesType, routes, Modifier.FINAL)
+                .returns(className)
+                .addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, code))
+                .build();
+    }
+
+    private MethodSpec createAsyncEventMethod(final MethodSpec eventMethod) {
+        final TypeName result = eventMethod.returnType.equals(TypeName.VOID) ? ClassName.get(Void.class) : eventMethod.returnType.box();
+        return MethodSpec
                 .methodBuilder(eventMethod.name)
-                .returns(eventMethod.returnType)
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
                 .addTypeVariables(eventMethod.typeVariables)
-                .addAnnotation(Override.class)
-                .addModifiers(Modifier.PUBLIC)
                 .addParameters(eventMethod.parameters)
-                .addCode(code)
+                .returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), result))
                 .build();
-        final TypeSpec.Builder builder = TypeSpec.anonymousClassBuilder("").addSuperinterface(className).addMethod(invokeSpec);
-        if (compareInfo != null) {
-            final MethodSpec ordSpec = MethodSpec
-                    .methodBuilder("ord")
-                    .addModifiers(Modifier.PUBLIC)
-                    .returns(ClassName.get(mirrorFromCompareInfo(compareInfo)))
-                    .addStatement(
-                            "throw new $T(\"Somebody tried to sort an invoker!\")",
-                            ClassName.get(UnsupportedOperationException.class)
-                    )
-                    .build();
-            builder.addMethod(ordSpec);
+    }
+
+    private MethodSpec createAsyncInvokerMethod(final ClassName className, final MethodSpec eventMethod, final MethodSpec asyncMethod, final EventInfo eventInfo, final EventComparisonInfo compareInfo, final EventAsync async) {
+        if (async.concurrent() && compareInfo != null) {
+            throw new IllegalStateException("Ordered events can not run their listeners concurrently!");
+        }
+        final CodeBlock params = createCallParams(eventMethod);
+        final boolean isVoid = eventMethod.returnType.equals(TypeName.VOID);
+        final String events = freeName("events", eventMethod);
+        final String executor = freeName("executor", eventMethod);
+        final String copy = freeName("copy", eventMethod);
+        final String invoker = freeName("invoker", eventMethod);
+        final String futures = freeName("futures", eventMethod);
+        final String res = freeName("res", eventMethod);
+        final String i = freeName("i", eventMethod);
+        final String event = freeName("event", eventMethod);
+        final CodeBlock.Builder code = CodeBlock.builder();
+        if (!async.concurrent()) {
+            code.addStatement("return $T.$L(() -> $L.$N($L), $L)", CompletableFuture.class, isVoid ? "runAsync" : "supplyAsync", invoker, eventMethod, params, executor);
+        } else if (isVoid) {
+            code
+                    .addStatement("final $T<?>[] $L = new $T<?>[$L.length]", CompletableFuture.class, futures, CompletableFuture.class, copy)
+                    .beginControlFlow("for (int $L = 0; $L < $L.length; $L++)", i, i, copy, i)
+                    .addStatement("final $T $L = $L[$L]", className, event, copy, i)
+                    .addStatement("$L[$L] = $T.runAsync(() -> $L.$N($L), $L)", futures, i, CompletableFuture.class, event, eventMethod, params, executor)
+                    .endControlFlow()
+                    .addStatement("return $T.allOf($L)", CompletableFuture.class, futures);
+        } else {
+            code
+                    .addStatement("$T $L = $T.completedFuture($L)", asyncMethod.returnType, res, CompletableFuture.class, createDefaultValue(eventMethod.returnType, eventInfo))
+                    .beginControlFlow("for (int $L = 0; $L < $L.length; $L++)", i, i, copy, i)
+                    .addStatement("final $T $L = $L[$L]", className, event, copy, i)
+                    .addStatement("$L = $L.thenCombine($T.supplyAsync(() -> $L.$N($L), $L), $T::combine)", res, res, CompletableFuture.class, event, eventMethod, params, executor, className.nestedClass("Combiner"))
+                    .endControlFlow()
+                    .addStatement("return $L", res);
+        }
+        final TypeSpec asyncClass = TypeSpec
+                .anonymousClassBuilder("")
+                .addSuperinterface(className.nestedClass("Async"))
+                .addMethod(
+                        MethodSpec.methodBuilder(asyncMethod.name)
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .addTypeVariables(asyncMethod.typeVariables)
+                                .addParameters(asyncMethod.parameters)
+                                .returns(asyncMethod.returnType)
+                                .addCode(code.build())
+                                .build()
+                ).build();
+        final MethodSpec.Builder method = MethodSpec
+                .methodBuilder("async")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ArrayTypeName.of(className), events, Modifier.FINAL)
+                .addParameter(Executor.class, executor, Modifier.FINAL)
+                .returns(className.nestedClass("Async"));
+        if (async.concurrent()) {
+            method.addStatement("final $T[] $L = $L.clone()", className, copy, events);
+        } else {
+            method.addStatement("final $T $L = factory().invoker($L)", className, invoker, events);
+        }
+        return method.addStatement("return $L", asyncClass).build();
+    }
+
+    private List<MethodSpec> createParallelInvokerMethods(final ClassName className, final MethodSpec eventMethod, final EventInfo eventInfo, final EventComparisonInfo compareInfo, final EventParallelReduction parallel) {
+        if (eventMethod.returnType.equals(TypeName.VOID)) {
+            throw new IllegalStateException("Parallel reduction requires a non-void event!");
         }
-        final TypeSpec anon = builder.build();
+        final CodeBlock params = createCallParams(eventMethod);
+        final String events = freeName("events", eventMethod);
+        final String pool = freeName("pool", eventMethod);
+        final String threshold = freeName("threshold", eventMethod);
+        final String copy = freeName("copy", eventMethod);
+        final String sequential = freeName("sequential", eventMethod);
+        final String fromIndex = freeName("fromIndex", eventMethod);
+        final String toIndex = freeName("toIndex", eventMethod);
+        final String res = freeName("res", eventMethod);
+        final String i = freeName("i", eventMethod);
+        final String r = freeName("r", eventMethod);
+        final CodeBlock.Builder reduce = CodeBlock.builder()
+                .addStatement("$T $L = $L", eventMethod.returnType, res, createDefaultValue(eventMethod.returnType, eventInfo))
+                .beginControlFlow("for (int $L = $L; $L < $L; $L++)", i, fromIndex, i, toIndex, i)
+                .addStatement("final var $L = $L[$L].$N($L)", r, copy, i, eventMethod, params)
+                .addStatement(createCombine(eventMethod.returnType, eventInfo, res, CodeBlock.of("$L", r)));
+        addShortCircuit(reduce, eventMethod, eventInfo, res);
+        reduce
+                .endControlFlow()
+                .addStatement("return $L", res);
+        final TypeName boxed = eventMethod.returnType.box();
+        final TypeSpec reducer = TypeSpec
+                .anonymousClassBuilder("")
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(EventReductions.RangeReducer.class), boxed))
+                .addMethod(
+                        MethodSpec.methodBuilder("reduce")
+                                .addModifiers(Modifier.PUBLIC)
+                                .addAnnotation(Override.class)
+                                .addParameter(TypeName.INT, fromIndex, Modifier.FINAL)
+                                .addParameter(TypeName.INT, toIndex, Modifier.FINAL)
+                                .returns(boxed)
+                                .addCode(reduce.build())
+                                .build()
+                )
+                .build();
+        final CodeBlock code = CodeBlock.builder()
+                .beginControlFlow("if ($L.length < $L)", copy, threshold)
+                .addStatement("return $L.$N($L)", sequential, eventMethod, params)
+                .endControlFlow()
+                .addStatement("return $T.reduce($L, $L.length, $L, $L, $T::combine)", EventReductions.class, pool, copy, threshold, reducer, className.nestedClass("Combiner"))
+                .build();
+        final MethodSpec withThreshold = MethodSpec
+                .methodBuilder("parallelInvoker")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ArrayTypeName.of(className), events, Modifier.FINAL)
+                .addParameter(ForkJoinPool.class, pool, Modifier.FINAL)
+                .addParameter(TypeName.INT, threshold, Modifier.FINAL)
+                .returns(className)
+                .addStatement("final $T[] $L = $L.clone()", className, copy, events)
+                .addStatement("final $T $L = factory().invoker($L)", className, sequential, copy)
+                .addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, code))
+                .build();
+        final MethodSpec withDefault = MethodSpec
+                .methodBuilder("parallelInvoker")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ArrayTypeName.of(className), "events", Modifier.FINAL)
+                .addParameter(ForkJoinPool.class, "pool", Modifier.FINAL)
+                .returns(className)
+                .addStatement("return parallelInvoker(events, pool, $L)", parallel.threshold())
+                .build();
+        return List.of(withDefault, withThreshold);
+    }
+
+    private MethodSpec createInvokerMethod(final ClassName className) {
         return MethodSpec
                 .methodBuilder("invoker")
                 .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
                 .addParameter(
                         ParameterizedTypeName.get(
                                 ClassName.get(List.class),
@@ -335,28 +1267,274 @@ public final class EventGenerator extends AbstractProcessor {
                         "events"
                 )
                 .returns(className)
-                .addCode(
-                        "return $L;",
-                        anon
-                )
+                .addStatement("final $T[] copy = events.toArray(new $T[0])", className, className)
+                .addStatement("return counted(createInvoker(copy), copy.length)")
                 .build();
     }
 
-    private TypeSpec createConvertedClass(final ClassName mutName, final MethodSpec mutMethod, final ClassName viewName, final MethodSpec viewMethod, final ExecutableElement element, final EventInfo info, /*Nullable*/ final EventComparisonInfo compareInfo) {
-        String methodCall = "view.$N(";
-        final List<String> args = new ArrayList<>();
-        args.add(viewMethod.name);
-        boolean any = false;
-        for (final ParameterSpec parameterSpec : mutMethod.parameters) {
-            if (any) {
-                methodCall = methodCall + ", ";
+    private MethodSpec createArrayInvokerMethod(final ClassName className) {
+        return MethodSpec
+                .methodBuilder("invoker")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(ArrayTypeName.of(className), "events")
+                .returns(className)
+                .addStatement("return counted(createInvoker(events.clone()), events.length)")
+                .build();
+    }
+
+    private MethodSpec createCountedMethod(final ClassName className, final MethodSpec eventMethod, final EventComparisonInfo compareInfo, final ClassName keysClass, final String keyField) {
+        final String invoker = freeName("invoker", eventMethod);
+        final String listeners = freeName("listeners", eventMethod);
+        final CodeBlock.Builder code = CodeBlock.builder().addStatement("$T.STATS.fired($T.$L, $L)", keysClass, keysClass, keyField, listeners);
+        if (eventMethod.returnType.equals(TypeName.VOID)) {
+            code.addStatement("$L.$N($L)", invoker, eventMethod, createCallParams(eventMethod));
+        } else {
+            code.addStatement("return $L.$N($L)", invoker, eventMethod, createCallParams(eventMethod));
+        }
+        return MethodSpec
+                .methodBuilder("counted")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(className, invoker, Modifier.FINAL)
+                .addParameter(TypeName.INT, listeners, Modifier.FINAL)
+                .returns(className)
+                .beginControlFlow("if (!$T.ENABLED)", EventStats.class)
+                .addStatement("return $L", invoker)
+                .endControlFlow()
+                .addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, code.build()))
+                .build();
+    }
+
+    private MethodSpec createSizedInvokerMethod(final ClassName className, final MethodSpec eventMethod, final EventInfo eventInfo, final EventComparisonInfo compareInfo) {
+        final CodeBlock params = createCallParams(eventMethod);
+        final boolean isVoid = eventMethod.returnType.equals(TypeName.VOID);
+        final String events = freeName("events", eventMethod);
+        final String res = freeName("res", eventMethod);
+        final String r = freeName("r", eventMethod);
+        final String i = freeName("i", eventMethod);
+        final CodeBlock.Builder code = CodeBlock.builder()
+                .beginControlFlow("if ($T.ENABLED)", EventTracing.class)
+                .addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, createTracedInvokerCode(className, eventMethod, eventInfo, events)))
+                .endControlFlow()
+                .beginControlFlow("switch ($L.length)", events);
+        for (int size = 0; size <= UNROLLED_INVOKER_SIZE; size++) {
+            code.beginControlFlow("case $L ->", size);
+            final CodeBlock.Builder body = CodeBlock.builder();
+            if (!isVoid && size != 0) {
+                body.addStatement("$T $L = $L", eventMethod.returnType, res, createDefaultValue(eventMethod.returnType, eventInfo));
+            }
+            for (int index = 0; index < size; index++) {
+                final String event = freeName("event" + index, eventMethod);
+                code.addStatement("final $T $L = $L[$L]", className, event, events, index);
+                final CodeBlock call = CodeBlock.of("$L.$N($L)", event, eventMethod, params);
+                if (isVoid) {
+                    body.addStatement("$L", call);
+                } else {
+                    body.addStatement(createCombine(eventMethod.returnType, eventInfo, res, call));
+                    if (index != size - 1) {
+                        addShortCircuit(body, eventMethod, eventInfo, res);
+                    }
+                }
+            }
+            if (isVoid) {
+                body.addStatement("return");
+            } else {
+                body.addStatement(size == 0 ? CodeBlock.of("return $L", createDefaultValue(eventMethod.returnType, eventInfo)) : CodeBlock.of("return $L", res));
+            }
+            code.addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, body.build()));
+            code.endControlFlow();
+        }
+        final CodeBlock.Builder loop = CodeBlock.builder();
+        if (isVoid) {
+            loop
+                    .beginControlFlow("for (int $L = 0; $L < $L.length; $L++)", i, i, events, i)
+                    .addStatement("$L[$L].$N($L)", events, i, eventMethod, params)
+                    .endControlFlow()
+                    .addStatement("return");
+        } else {
+            loop
+                    .addStatement("$T $L = $L", eventMethod.returnType, res, createDefaultValue(eventMethod.returnType, eventInfo))
+                    .beginControlFlow("for (int $L = 0; $L < $L.length; $L++)", i, i, events, i)
+                    .addStatement("final var $L = $L[$L].$N($L)", r, events, i, eventMethod, params)
+                    .addStatement(createCombine(eventMethod.returnType, eventInfo, res, CodeBlock.of("$L", r)));
+            addShortCircuit(loop, eventMethod, eventInfo, res);
+            loop
+                    .endControlFlow()
+                    .addStatement("return $L", res);
+        }
+        code
+                .beginControlFlow("default ->")
+                .addStatement("return $L", createInvokerClass(className, eventMethod, compareInfo, loop.build()))
+                .endControlFlow()
+                .endControlFlow();
+        return MethodSpec
+                .methodBuilder("createInvoker")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(ArrayTypeName.of(className), events, Modifier.FINAL)
+                .returns(className)
+                .addCode(code.build())
+                .build();
+    }
+
+    private CodeBlock createDefaultValue(final TypeName returnType, final EventInfo eventInfo) {
+        if (!eventInfo.defaultValue().isEmpty() || !isBuiltinCombiner(returnType, eventInfo)) {
+            return CodeBlock.of("$L", eventInfo.defaultValue());
+        }
+        final TypeName primitive = returnType.unbox();
+        final boolean floating = primitive.equals(TypeName.FLOAT) || primitive.equals(TypeName.DOUBLE);
+        return switch (eventInfo.combiner()) {
+            case EventInfo.SUM -> returnType.isPrimitive() || primitive.equals(TypeName.INT) ? CodeBlock.of("0") : CodeBlock.of("($T) 0", primitive);
+            case EventInfo.MIN -> CodeBlock.of(floating ? "$T.POSITIVE_INFINITY" : "$T.MAX_VALUE", primitive.box());
+            case EventInfo.MAX -> CodeBlock.of(floating ? "$T.NEGATIVE_INFINITY" : "$T.MIN_VALUE", primitive.box());
+            case EventInfo.AND -> CodeBlock.of("true");
+            case EventInfo.OR -> CodeBlock.of("false");
+            default -> throw new AssertionError();
+        };
+    }
+
+    //Boxed results throw on a null listener result, byte, short and char arithmetic yields int so only those are cast back
+    private CodeBlock createCombine(final TypeName returnType, final EventInfo eventInfo, final String res, final CodeBlock value) {
+        if (!isBuiltinCombiner(returnType, eventInfo)) {
+            return CodeBlock.of("$L = $L($L, $L)", res, eventInfo.combiner(), res, value);
+        }
+        final TypeName primitive = returnType.unbox();
+        final boolean narrow = primitive.equals(TypeName.BYTE) || primitive.equals(TypeName.SHORT) || primitive.equals(TypeName.CHAR);
+        final CodeBlock cast = narrow ? CodeBlock.of("($T) ", primitive) : CodeBlock.of("");
+        return switch (eventInfo.combiner()) {
+            case EventInfo.SUM -> returnType.isPrimitive() ? CodeBlock.of("$L += $L", res, value) : CodeBlock.of("$L = $L($L + $L)", res, cast, res, value);
+            case EventInfo.MIN -> CodeBlock.of("$L = $L$T.min($L, $L)", res, cast, Math.class, res, value);
+            case EventInfo.MAX -> CodeBlock.of("$L = $L$T.max($L, $L)", res, cast, Math.class, res, value);
+            case EventInfo.AND -> CodeBlock.of("$L &= $L", res, value);
+            case EventInfo.OR -> CodeBlock.of("$L |= $L", res, value);
+            default -> throw new AssertionError();
+        };
+    }
+
+    private boolean isBuiltinCombiner(final TypeName returnType, final EventInfo eventInfo) {
+        final TypeName primitive = returnType.isBoxedPrimitive() ? returnType.unbox() : returnType;
+        final boolean bool = primitive.equals(TypeName.BOOLEAN);
+        return switch (eventInfo.combiner()) {
+            case EventInfo.SUM, EventInfo.MIN, EventInfo.MAX -> {
+                if (!primitive.isPrimitive() || bool || primitive.equals(TypeName.VOID)) {
+                    throw new IllegalStateException("Builtin combiner " + eventInfo.combiner() + " requires a numeric return type, found " + returnType);
+                }
+                yield true;
             }
-            methodCall = methodCall + "$N";
-            args.add(parameterSpec.name);
-            any = true;
+            case EventInfo.AND, EventInfo.OR -> {
+                if (!bool) {
+                    throw new IllegalStateException("Builtin combiner " + eventInfo.combiner() + " requires a boolean return type, found " + returnType);
+                }
+                yield true;
+            }
+            default -> false;
+        };
+    }
+
+    private CodeBlock createTracedInvokerCode(final ClassName className, final MethodSpec eventMethod, final EventInfo eventInfo, final String events) {
+        final boolean isVoid = eventMethod.returnType.equals(TypeName.VOID);
+        final String tracer = freeName("tracer", eventMethod);
+        final String res = freeName("res", eventMethod);
+        final String r = freeName("r", eventMethod);
+        final String i = freeName("i", eventMethod);
+        final String start = freeName("start", eventMethod);
+        final String e = freeName("e", eventMethod);
+        final CodeBlock.Builder code = CodeBlock.builder()
+                .addStatement("final $T $L = $T.tracer()", EventTracer.class, tracer, EventTracing.class)
+                .addStatement("$L.invoked($T.class, $L.length)", tracer, className, events);
+        if (!isVoid) {
+            code.addStatement("$T $L = $L", eventMethod.returnType, res, createDefaultValue(eventMethod.returnType, eventInfo));
+        }
+        code
+                .beginControlFlow("for (int $L = 0; $L < $L.length; $L++)", i, i, events, i)
+                .addStatement("final long $L = $T.nanoTime()", start, System.class);
+        //Only the listener call is guarded, tracer callbacks and the combiner failing are not listener failures
+        if (isVoid) {
+            code
+                    .beginControlFlow("try")
+                    .addStatement("$L[$L].$N($L)", events, i, eventMethod, createCallParams(eventMethod));
+        } else {
+            code
+                    .addStatement("final $T $L", eventMethod.returnType, r)
+                    .beginControlFlow("try")
+                    .addStatement("$L = $L[$L].$N($L)", r, events, i, eventMethod, createCallParams(eventMethod));
+        }
+        code
+                .nextControlFlow("catch (final $T | $T $L)", RuntimeException.class, Error.class, e)
+                .addStatement("$L.listenerFailed($T.class, $L, $L[$L], $L)", tracer, className, i, events, i, e)
+                .addStatement("throw $L", e)
+                .endControlFlow()
+                .addStatement("$L.listenerCompleted($T.class, $L, $L[$L], $T.nanoTime() - $L)", tracer, className, i, events, i, System.class, start);
+        if (!isVoid) {
+            code.addStatement(createCombine(eventMethod.returnType, eventInfo, res, CodeBlock.of("$L", r)));
+            addShortCircuit(code, eventMethod, eventInfo, res);
+        }
+        code.endControlFlow();
+        return code.addStatement(isVoid ? CodeBlock.of("return") : CodeBlock.of("return $L", res)).build();
+    }
+
+    private void addShortCircuit(final CodeBlock.Builder code, final MethodSpec eventMethod, final EventInfo eventInfo, final String res) {
+        final CodeBlock test = createShortCircuitTest(eventMethod, eventInfo, res);
+        if (test != null) {
+            code.beginControlFlow("if ($L)", test).addStatement("return $L", res).endControlFlow();
+        }
+    }
+
+    private /*Nullable*/ CodeBlock createShortCircuitTest(final MethodSpec eventMethod, final EventInfo eventInfo, final String res) {
+        final String shortCircuit;
+        if (!eventInfo.shortCircuit().isEmpty()) {
+            shortCircuit = eventInfo.shortCircuit();
+        } else if (eventInfo.combiner().equals(EventInfo.AND)) {
+            shortCircuit = "false";
+        } else if (eventInfo.combiner().equals(EventInfo.OR)) {
+            shortCircuit = "true";
+        } else {
+            return null;
+        }
+        if (eventMethod.returnType.isPrimitive()) {
+            return CodeBlock.of("$L == $L", res, shortCircuit);
+        }
+        return CodeBlock.of("$T.equals($L, $L)", Objects.class, res, shortCircuit);
+    }
+
+    private TypeSpec createInvokerClass(final ClassName className, final MethodSpec eventMethod, final EventComparisonInfo compareInfo, final CodeBlock code) {
+        final MethodSpec invokeSpec = MethodSpec
+                .methodBuilder(eventMethod.name)
+                .returns(eventMethod.returnType)
+                .addTypeVariables(eventMethod.typeVariables)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameters(eventMethod.parameters)
+                .addCode(code)
+                .build();
+        final TypeSpec.Builder builder = TypeSpec.anonymousClassBuilder("").addSuperinterface(className).addMethod(invokeSpec);
+        if (compareInfo != null) {
+            builder.addMethod(createInvokerOrdMethod(compareInfo));
+        }
+        return builder.build();
+    }
+
+    private MethodSpec createInvokerOrdMethod(final EventComparisonInfo compareInfo) {
+        return invokerOrdSpecs.computeIfAbsent(TypeName.get(mirrorFromCompareInfo(compareInfo)), type -> MethodSpec
+                .methodBuilder("ord")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(type)
+                .addStatement(
+                        "throw new $T(\"Somebody tried to sort an invoker!\")",
+                        ClassName.get(UnsupportedOperationException.class)
+                )
+                .build());
+    }
+
+    private CodeBlock createCallParams(final MethodSpec eventMethod) {
+        final List<CodeBlock> params = new ArrayList<>();
+        for (final ParameterSpec parameter : eventMethod.parameters) {
+            params.add(CodeBlock.of("$N", parameter));
         }
-        methodCall = methodCall + ")";
-        final CodeBlock codeBlock = CodeBlock.builder().addStatement(methodCall, args.toArray()).addStatement(info.defaultValue().isEmpty() ? "return" : "return " + info.defaultValue()).build();
+        return CodeBlock.join(params, ", ");
+    }
+
+    private TypeSpec createConvertedClass(final ClassName mutName, final MethodSpec mutMethod, final ClassName viewName, final MethodSpec viewMethod, final ExecutableElement element, final EventInfo info, /*Nullable*/ final EventComparisonInfo compareInfo, final String view) {
+        final CodeBlock codeBlock = CodeBlock.builder().addStatement("$L.$N($L)", view, viewMethod, createCallParams(mutMethod)).addStatement(mutMethod.returnType.equals(TypeName.VOID) ? CodeBlock.of("return") : CodeBlock.of("return $L", createDefaultValue(mutMethod.returnType, info))).build();
         final TypeSpec.Builder builder = TypeSpec
                 .anonymousClassBuilder("")
                 .addSuperinterface(mutName)
@@ -373,36 +1551,37 @@ public final class EventGenerator extends AbstractProcessor {
                                 ).build()
                 );
         if (compareInfo != null) {
-            final MethodSpec ordSpec = MethodSpec
-                    .methodBuilder("ord").addAnnotation(Override.class)
-                    .addModifiers(Modifier.PUBLIC)
-                    .returns(
-                            TypeName.get(
-                                    mirrorFromCompareInfo(
-                                            compareInfo
-                                    )
-                            )
-                    )
-                    .addStatement(
-                            "return view.ord()"
-                    )
-                    .build();
+            final TypeName type = TypeName.get(mirrorFromCompareInfo(compareInfo));
+            //ord takes no parameters, but it has to name the same renamed view
+            final MethodSpec ordSpec = view.equals("view") ? convertedOrdSpecs.computeIfAbsent(type, t -> createConvertedOrdMethod(t, view)) : createConvertedOrdMethod(type, view);
             builder.addMethod(ordSpec);
         }
         return builder.build();
     }
 
+    private MethodSpec createConvertedOrdMethod(final TypeName type, final String view) {
+        return MethodSpec
+                .methodBuilder("ord").addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(type)
+                .addStatement(
+                        "return $L.ord()", view
+                )
+                .build();
+    }
+
     private MethodSpec createConverterMethod(final ClassName className, final MethodSpec eventMethod, final MethodSpec viewMethod, final ExecutableElement executableElement, final EventInfo eventInfo, /*Nullable*/ final EventComparisonInfo compareInfo) {
+        final String view = freeName("view", eventMethod);
         return MethodSpec.methodBuilder("convert")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(Override.class)
-                .addParameter(className.nestedClass("View"), "view")
+                .addParameter(className.nestedClass("View"), view)
                 .returns(className)
                 .addCode(CodeBlock
                         .builder()
                         .add(
                                 "return $L;\n",
-                                createConvertedClass(className, eventMethod, className.nestedClass("View"), viewMethod, executableElement, eventInfo, compareInfo)
+                                createConvertedClass(className, eventMethod, className.nestedClass("View"), viewMethod, executableElement, eventInfo, compareInfo, view)
                         ).build()
                 ).build();
     }
@@ -437,15 +1616,10 @@ public final class EventGenerator extends AbstractProcessor {
 
     private TypeMirror walkUp(final TypeMirror type) {
         if (type.getKind() == TypeKind.DECLARED) {
-            final EventViewable annotation = ((DeclaredType) type).asElement().getAnnotation(EventViewable.class);
-            if (annotation != null) {
-                final TypeMirror mirror = mirrorFromViewable(annotation);
-                final Element element = processingEnv.getTypeUtils().asElement(mirror);
-                final ElementKind kind = element.getKind();
-                if (!kind.isClass() && !kind.isInterface()) {
-                    throw new RuntimeException("Invalid View class!");
-                }
-                final TypeElement typeElement = (TypeElement) element;
+            final Optional<TypeMirror> viewable = viewables.computeIfAbsent(((DeclaredType) type).asElement(), this::findViewable);
+            if (viewable.isPresent()) {
+                final TypeMirror mirror = viewable.get();
+                final TypeElement typeElement = (TypeElement) processingEnv.getTypeUtils().asElement(mirror);
                 final Types utils = processingEnv.getTypeUtils();
                 if (mirror.getKind() == TypeKind.DECLARED) {
                     final List<? extends TypeMirror> mutArguments = ((DeclaredType) type).getTypeArguments();
@@ -465,10 +1639,29 @@ public final class EventGenerator extends AbstractProcessor {
         return type;
     }
 
+    private Optional<TypeMirror> findViewable(final Element mutElement) {
+        final EventViewable annotation = mutElement.getAnnotation(EventViewable.class);
+        if (annotation == null) {
+            return Optional.empty();
+        }
+        final TypeMirror mirror = mirrorFromViewable(annotation);
+        final Element element = processingEnv.getTypeUtils().asElement(mirror);
+        final ElementKind kind = element.getKind();
+        if (!kind.isClass() && !kind.isInterface()) {
+            throw new RuntimeException("Invalid View class!");
+        }
+        return Optional.of(mirror);
+    }
+
     private TypeMirror mirrorFromCompareInfo(final EventComparisonInfo info) {
+        final TypeMirror cached = comparedTypes.get(info);
+        if (cached != null) {
+            return cached;
+        }
         try {
             info.comparedType().isInstance(null);
         } catch (final MirroredTypeException e) {
+            comparedTypes.put(info, e.getTypeMirror());
             return e.getTypeMirror();
         }
         throw new AssertionError();
@@ -483,28 +1676,34 @@ public final class EventGenerator extends AbstractProcessor {
         throw new AssertionError();
     }
 
-    private String findPackage(Element element) {
-        while (element != null) {
-            final EventPackageLocation annotation = element.getAnnotation(EventPackageLocation.class);
-            if (annotation != null) {
-                return annotation.value();
-            }
-            element = element.getEnclosingElement();
+    private String findPackage(final Element element) {
+        if (element == null) {
+            throw new IllegalStateException("Unspecified package location!");
+        }
+        final String cached = packages.get(element);
+        if (cached != null) {
+            return cached;
         }
-        throw new IllegalStateException("Unspecified package location!");
+        final EventPackageLocation annotation = element.getAnnotation(EventPackageLocation.class);
+        final String packageLoc = annotation != null ? annotation.value() : findPackage(element.getEnclosingElement());
+        packages.put(element, packageLoc);
+        return packageLoc;
     }
 
-    private EventKeyLocation findKeyLocation(Element element) {
-        while (element != null) {
-            final EventKeyLocation annotation = element.getAnnotation(EventKeyLocation.class);
-            if (annotation != null) {
-                return annotation;
-            }
-            element = element.getEnclosingElement();
+    private EventKeyLocation findKeyLocation(final Element element) {
+        if (element == null) {
+            throw new IllegalStateException("Unspecified key location!");
+        }
+        final EventKeyLocation cached = keyLocations.get(element);
+        if (cached != null) {
+            return cached;
         }
-        throw new IllegalStateException("Unspecified key location!");
+        final EventKeyLocation annotation = element.getAnnotation(EventKeyLocation.class);
+        final EventKeyLocation keyLocation = annotation != null ? annotation : findKeyLocation(element.getEnclosingElement());
+        keyLocations.put(element, keyLocation);
+        return keyLocation;
     }
 
-    private record KeyEntry(String keyFile, FieldSpec spec) {
+    private record KeyEntry(String keyFile, String field, TypeName type, CodeBlock key, Element origin) {
     }
 }
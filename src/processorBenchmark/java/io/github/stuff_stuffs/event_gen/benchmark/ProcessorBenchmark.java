@@ -0,0 +1,237 @@
+package io.github.stuff_stuffs.event_gen.benchmark;
+
+import io.github.stuff_stuffs.event_gen.internal.EventGenerator;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+public final class ProcessorBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 50_000};
+    private static final int EVENTS_PER_FILE = 100;
+    private static final int KEY_FILES = 16;
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int MEASURED_ITERATIONS = 3;
+
+    public static void main(final String[] args) throws IOException {
+        final int[] sizes = args.length == 0 ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("ProcessorBenchmark requires a JDK!");
+        }
+        for (final int size : sizes) {
+            final Path root = Files.createTempDirectory("event-gen-benchmark");
+            try {
+                final List<Path> sources = writeSources(root.resolve("src"), size);
+                for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                    run(compiler, root, sources);
+                }
+                final List<Result> results = new ArrayList<>();
+                for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                    results.add(run(compiler, root, sources));
+                }
+                report(size, results);
+            } finally {
+                delete(root);
+            }
+        }
+    }
+
+    private static Result run(final JavaCompiler compiler, final Path root, final List<Path> sources) throws IOException {
+        final Path out = root.resolve("out");
+        delete(out);
+        Files.createDirectories(out);
+        System.gc();
+        final List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                pools.add(pool);
+            }
+        }
+        final TimedProcessor processor = new TimedProcessor(new EventGenerator());
+        final long start = System.nanoTime();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final List<String> options = List.of(
+                    "-proc:only",
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-s", out.toString(),
+                    "-d", out.toString()
+            );
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, fileManager.getJavaFileObjectsFromPaths(sources));
+            task.setProcessors(List.of(processor));
+            if (!task.call()) {
+                throw new IllegalStateException("Benchmark compilation failed!");
+            }
+        }
+        final long javacNanos = System.nanoTime() - start;
+        long peakHeap = 0;
+        for (final MemoryPoolMXBean pool : pools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+        return new Result(processor.nanos, javacNanos, processor.allocatedBytes, peakHeap);
+    }
+
+    private static void report(final int size, final List<Result> results) {
+        final double processMs = median(results, result -> result.processNanos() / 1_000_000.0);
+        final double javacMs = median(results, result -> result.javacNanos() / 1_000_000.0);
+        final double allocatedMb = median(results, result -> result.processAllocatedBytes() / (1024.0 * 1024.0));
+        final double peakHeapMb = median(results, result -> result.peakHeapBytes() / (1024.0 * 1024.0));
+        System.out.printf(
+                Locale.ROOT,
+                "events=%d process=%.1fms javac=%.1fms processShare=%.1f%% processAlloc=%.1fMB peakHeap=%.1fMB%n",
+                size,
+                processMs,
+                javacMs,
+                100.0 * processMs / javacMs,
+                allocatedMb,
+                peakHeapMb
+        );
+    }
+
+    private static double median(final List<Result> results, final java.util.function.ToDoubleFunction<Result> extractor) {
+        final double[] values = results.stream().mapToDouble(extractor).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static List<Path> writeSources(final Path dir, final int size) throws IOException {
+        final Path packageDir = dir.resolve("bench").resolve("src");
+        Files.createDirectories(packageDir);
+        final List<Path> sources = new ArrayList<>();
+        final Path subject = packageDir.resolve("Subject.java");
+        Files.writeString(
+                subject,
+                """
+                        package bench.src;
+
+                        import io.github.stuff_stuffs.event_gen.api.event.gen.EventViewable;
+
+                        @EventViewable(viewClass = SubjectView.class)
+                        public interface Subject extends SubjectView {
+                            void set(int value);
+                        }
+                        """
+        );
+        sources.add(subject);
+        final Path subjectView = packageDir.resolve("SubjectView.java");
+        Files.writeString(
+                subjectView,
+                """
+                        package bench.src;
+
+                        public interface SubjectView {
+                            int get();
+                        }
+                        """
+        );
+        sources.add(subjectView);
+        final int files = (size + EVENTS_PER_FILE - 1) / EVENTS_PER_FILE;
+        for (int file = 0; file < files; file++) {
+            final StringBuilder builder = new StringBuilder();
+            builder.append("package bench.src;\n\n");
+            builder.append("import io.github.stuff_stuffs.event_gen.api.event.gen.*;\n\n");
+            builder.append("@EventPackageLocation(\"bench.gen\")\n");
+            builder.append("@EventKeyLocation(location = \"bench.gen.Keys").append(file % KEY_FILES).append("\")\n");
+            builder.append("public interface Events").append(file).append(" {\n");
+            final int count = Math.min(EVENTS_PER_FILE, size - file * EVENTS_PER_FILE);
+            for (int event = 0; event < count; event++) {
+                final String name = "E" + file + "_" + event;
+                switch (event % 4) {
+                    case 0 -> builder.append("    @EventInfo\n    void ").append(name).append("(int a, String b);\n");
+                    case 1 -> builder.append("    @EventInfo(combiner = EventInfo.SUM)\n    int ").append(name).append("(int a, long b);\n");
+                    case 2 -> builder
+                            .append("    @EventComparisonInfo(comparedType = int.class)\n")
+                            .append("    @EventInfo(combiner = EventInfo.AND)\n    boolean ").append(name).append("(Subject subject);\n");
+                    default -> builder.append("    @EventInfo\n    <T extends Number> void ").append(name).append("(Subject subject, T value);\n");
+                }
+            }
+            builder.append("}\n");
+            final Path source = packageDir.resolve("Events" + file + ".java");
+            Files.writeString(source, builder.toString());
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    private static void delete(final Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (final Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private record Result(long processNanos, long javacNanos, long processAllocatedBytes, long peakHeapBytes) {
+    }
+
+    private static final class TimedProcessor implements Processor {
+        private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        private final Processor delegate;
+        private long nanos;
+        private long allocatedBytes;
+
+        private TimedProcessor(final Processor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return delegate.getSupportedSourceVersion();
+        }
+
+        @Override
+        public void init(final ProcessingEnvironment processingEnv) {
+            delegate.init(processingEnv);
+        }
+
+        @Override
+        public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+            final long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            final long start = System.nanoTime();
+            try {
+                return delegate.process(annotations, roundEnv);
+            } finally {
+                nanos += System.nanoTime() - start;
+                allocatedBytes += THREADS.getCurrentThreadAllocatedBytes() - allocated;
+            }
+        }
+
+        @Override
+        public Iterable<? extends Completion> getCompletions(final Element element, final AnnotationMirror annotation, final ExecutableElement member, final String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+}
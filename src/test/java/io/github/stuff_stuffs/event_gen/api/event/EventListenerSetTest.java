@@ -0,0 +1,152 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Banded;
+import io.github.stuff_stuffs.event_gen.events.gen.Demoted;
+import io.github.stuff_stuffs.event_gen.events.gen.Descending;
+import io.github.stuff_stuffs.event_gen.events.gen.Named;
+import io.github.stuff_stuffs.event_gen.events.gen.Ranked;
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventListenerSetTest {
+    @Test
+    public void withAndWithoutAreCopyOnWrite() {
+        final EventListenerSet<Score> empty = EventListenerSet.empty(TestEventKeys.SCORE_KEY);
+        final Score first = base -> 1;
+        final Score second = base -> 2;
+        final EventListenerSet<Score> one = empty.with(first);
+        final EventListenerSet<Score> two = one.with(second);
+        assertEquals(0, empty.size());
+        assertEquals(1, one.size());
+        assertEquals(2, two.size());
+        assertSame(first, two.get(0));
+        assertSame(second, two.get(1));
+        assertTrue(two.version() > one.version());
+        assertSame(two, two.without(base -> 3));
+        final EventListenerSet<Score> removed = two.without(first);
+        assertFalse(removed.contains(first));
+        assertTrue(removed.contains(second));
+        assertTrue(removed.version() > two.version());
+    }
+
+    @Test
+    public void cachesItsInvoker() {
+        final EventListenerSet<Score> set = EventListenerSet.<Score>empty(TestEventKeys.SCORE_KEY).with(base -> base).with(base -> base * 2);
+        assertSame(set.invoker(), set.invoker());
+        assertEquals(9, set.invoker().onScore(3));
+    }
+
+    @Test
+    public void insertsInComparatorOrder() {
+        EventListenerSet<Ranked> set = EventListenerSet.empty(TestEventKeys.RANKED_KEY);
+        for (final int rank : new int[]{3, 1, 2, 1, 0}) {
+            set = set.with(new Ranked() {
+                @Override
+                public int ord() {
+                    return rank;
+                }
+
+                @Override
+                public void onRanked(final long entity, final List<Integer> out) {
+                    out.add(rank);
+                }
+            });
+        }
+        final List<Integer> out = new ArrayList<>();
+        set.invoker().onRanked(0, out);
+        assertEquals(List.of(0, 1, 1, 2, 3), out);
+    }
+
+    @Test
+    public void keepsBandsAlignedThroughRemoval() {
+        EventListenerSet<Banded> set = EventListenerSet.empty(TestEventKeys.BANDED_KEY);
+        final List<Banded> listeners = new ArrayList<>();
+        for (final int band : new int[]{2, 0, 1, 0, 2}) {
+            final int index = listeners.size();
+            final Banded listener = new Banded() {
+                @Override
+                public int ord() {
+                    return band;
+                }
+
+                @Override
+                public void onBanded(final List<Integer> out) {
+                    out.add(index);
+                }
+            };
+            listeners.add(listener);
+            set = set.with(listener);
+        }
+        set = set.without(listeners.get(1)).with(listeners.get(1));
+        final List<Integer> out = new ArrayList<>();
+        set.invoker().onBanded(out);
+        //Ties keep insertion order, the removed and re-added listener goes last in its band
+        assertEquals(List.of(3, 1, 2, 0, 4), out);
+    }
+
+    @Test
+    public void reversesComparatorOrder() {
+        EventListenerSet<Descending> descending = EventListenerSet.empty(TestEventKeys.DESCENDING_KEY);
+        for (final long rank : new long[]{3, Long.MIN_VALUE, 7, Long.MAX_VALUE}) {
+            descending = descending.with(new Descending() {
+                @Override
+                public long ord() {
+                    return rank;
+                }
+
+                @Override
+                public void onDescending(final List<Long> out) {
+                    out.add(rank);
+                }
+            });
+        }
+        final List<Long> longs = new ArrayList<>();
+        descending.invoker().onDescending(longs);
+        assertEquals(List.of(Long.MAX_VALUE, 7L, 3L, Long.MIN_VALUE), longs);
+        EventListenerSet<Named> named = EventListenerSet.empty(TestEventKeys.NAMED_KEY);
+        for (final String name : new String[]{"b", "C", "a"}) {
+            named = named.with(new Named() {
+                @Override
+                public String ord() {
+                    return name;
+                }
+
+                @Override
+                public void onNamed(final List<String> out) {
+                    out.add(name);
+                }
+            });
+        }
+        final List<String> names = new ArrayList<>();
+        named.invoker().onNamed(names);
+        assertEquals(List.of("C", "b", "a"), names);
+    }
+
+    @Test
+    public void reversesBandsWithoutOverflow() {
+        EventListenerSet<Demoted> set = EventListenerSet.empty(TestEventKeys.DEMOTED_KEY);
+        for (final int band : new int[]{0, Integer.MIN_VALUE, 5, Integer.MAX_VALUE, 0}) {
+            final int index = set.size();
+            set = set.with(new Demoted() {
+                @Override
+                public int ord() {
+                    return band;
+                }
+
+                @Override
+                public void onDemoted(final List<Integer> out) {
+                    out.add(index);
+                }
+            });
+        }
+        final List<Integer> out = new ArrayList<>();
+        set.invoker().onDemoted(out);
+        assertEquals(List.of(3, 2, 0, 4, 1), out);
+    }
+}
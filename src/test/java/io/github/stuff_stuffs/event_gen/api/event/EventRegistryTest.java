@@ -0,0 +1,101 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import io.github.stuff_stuffs.event_gen.events.odd.keys_file;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventRegistryTest {
+    @Test
+    public void generatedIdsAreOneBlockPerKeyFile() {
+        assertEquals(TestEventKeys.KEY_COUNT, TestEventKeys.KEYS.size());
+        final int base = TestEventKeys.KEYS.get(0).id();
+        for (int i = 0; i < TestEventKeys.KEYS.size(); i++) {
+            assertEquals(base + i, TestEventKeys.KEYS.get(i).id());
+        }
+        final int odd = keys_file.ODD_KEY.id();
+        assertTrue(odd < base || odd >= base + TestEventKeys.KEY_COUNT);
+        final int manual = new EventKey<>(Score.class, Score.View.class, null).id();
+        assertTrue(manual != odd && (manual < base || manual >= base + TestEventKeys.KEY_COUNT));
+    }
+
+    @Test
+    public void keysAreEqualByIdentity() {
+        final EventKey<Score, Score.View> first = new EventKey<>(Score.class, Score.View.class, null);
+        final EventKey<Score, Score.View> second = new EventKey<>(Score.class, Score.View.class, null);
+        assertNotEquals(first, second);
+        assertEquals(first, first);
+        assertEquals(first.id(), first.hashCode());
+        final EventRegistry registry = new EventRegistry();
+        assertNotSame(registry.register(first, Score.factory()), registry.register(second, Score.factory()));
+    }
+
+    @Test
+    public void resolvesKeysFromEveryKeyFile() {
+        final EventRegistry registry = new EventRegistry();
+        final EventKey<Score, Score.View> manual = new EventKey<>(Score.class, Score.View.class, null);
+        registry.register(TestEventKeys.SCORE_KEY).register(base -> 3);
+        registry.register(manual, Score.factory()).register(base -> 5);
+        assertEquals(3, registry.invoker(TestEventKeys.SCORE_KEY).onScore(1));
+        assertEquals(5, registry.invoker(manual).onScore(1));
+        assertSame(registry.register(TestEventKeys.SCORE_KEY), registry.get(TestEventKeys.SCORE_KEY));
+        registry.register(keys_file.ODD_KEY);
+        assertSame(registry.register(keys_file.ODD_KEY), registry.get(keys_file.ODD_KEY));
+        assertThrows(IllegalStateException.class, () -> registry.get(TestEventKeys.TICK_KEY));
+        //Ids past the initial slots grow the table without losing earlier entries
+        final EventKey<Score, Score.View> late = new EventKey<>(Score.class, Score.View.class, null);
+        for (int i = 0; i < 64; i++) {
+            new EventKey<>(Score.class, Score.View.class, null);
+        }
+        final EventKey<Score, Score.View> later = new EventKey<>(Score.class, Score.View.class, null);
+        registry.register(later, Score.factory()).register(base -> 7);
+        registry.register(late, Score.factory());
+        assertEquals(7, registry.invoker(later).onScore(1));
+        assertEquals(3, registry.invoker(TestEventKeys.SCORE_KEY).onScore(1));
+        assertEquals(0, registry.invoker(late).onScore(1));
+    }
+
+    @Test
+    public void invokerFollowsRegistration() {
+        final EventRegistry registry = new EventRegistry();
+        final EventRegistry.Entry<Score, Score.View> entry = registry.register(TestEventKeys.SCORE_KEY);
+        assertEquals(0, entry.invoker().onScore(2));
+        final Score doubled = base -> base * 2;
+        entry.register(doubled);
+        entry.registerView(base -> {
+        });
+        final Score invoker = entry.invoker();
+        assertSame(invoker, entry.invoker());
+        assertEquals(4, invoker.onScore(2));
+        assertTrue(entry.unregister(doubled));
+        assertFalse(entry.unregister(doubled));
+        assertEquals(0, entry.invoker().onScore(2));
+    }
+
+    @Test
+    public void concurrentRegistrationKeepsOneEntry() throws InterruptedException {
+        final EventRegistry registry = new EventRegistry();
+        final Thread[] threads = new Thread[8];
+        final Object[] seen = new Object[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> {
+                final EventRegistry.Entry<Tick, Tick.View> entry = registry.register(TestEventKeys.TICK_KEY);
+                entry.register((amount, label) -> {
+                });
+                seen[index] = entry;
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (final Object entry : seen) {
+            assertSame(seen[0], entry);
+        }
+        assertEquals(threads.length, registry.get(TestEventKeys.TICK_KEY).listeners().size());
+    }
+}
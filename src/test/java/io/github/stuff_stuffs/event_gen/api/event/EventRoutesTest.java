@@ -0,0 +1,176 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Ranked;
+import io.github.stuff_stuffs.event_gen.events.gen.Routed;
+import io.github.stuff_stuffs.event_gen.events.gen.Tagged;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventRoutesTest {
+    @Test
+    public void routesIntegralKeys() {
+        final EventRoutes<Object, Routed> routes = EventRoutes.create(TestEventKeys.ROUTED_KEY);
+        routes.register(1L, (entity, amount) -> amount);
+        routes.register(2, (entity, amount) -> amount * 10);
+        routes.register((Object) 1, (entity, amount) -> 100);
+        routes.registerWildcard((entity, amount) -> 1000);
+        final Routed invoker = Routed.routed(routes);
+        assertEquals(1102, invoker.onRouted(1, 2));
+        assertEquals(1020, invoker.onRouted(2, 2));
+        assertEquals(1000, invoker.onRouted(3, 2));
+        assertEquals(2, routes.routeCount());
+        assertSame(routes.invoker(2L), routes.invoker((Object) 2));
+    }
+
+    @Test
+    public void routesObjectKeys() {
+        final EventRoutes<String, Tagged> routes = EventRoutes.create(TestEventKeys.TAGGED_KEY);
+        routes.register("a", (tag, out) -> out.add("a"));
+        routes.register(null, (tag, out) -> out.add("null"));
+        routes.registerWildcard((tag, out) -> out.add("*"));
+        final Tagged invoker = Tagged.routed(routes);
+        final List<String> out = new ArrayList<>();
+        invoker.onTagged("a", out);
+        invoker.onTagged(null, out);
+        invoker.onTagged("b", out);
+        assertEquals(List.of("a", "*", "null", "*", "*"), out);
+    }
+
+    @Test
+    public void onlyTheChangedRouteIsRebuilt() {
+        final EventRoutes<Object, Routed> routes = EventRoutes.create(TestEventKeys.ROUTED_KEY);
+        routes.register(1, (entity, amount) -> 1);
+        final Routed first = routes.invoker(1);
+        routes.register(2, (entity, amount) -> 2);
+        routes.register(3, (entity, amount) -> 3);
+        assertSame(first, routes.invoker(1));
+        routes.registerWildcard((entity, amount) -> 4);
+        assertNotSame(first, routes.invoker(1));
+        assertEquals(5, routes.invoker(1).onRouted(1, 0));
+    }
+
+    @Test
+    public void unregisterDropsEmptyRoutes() {
+        final EventRoutes<Object, Routed> routes = EventRoutes.create(TestEventKeys.ROUTED_KEY);
+        final Routed listener = (entity, amount) -> 1;
+        final Routed wildcard = (entity, amount) -> 10;
+        routes.register(7, listener);
+        routes.registerWildcard(wildcard);
+        assertFalse(routes.unregister(7, wildcard));
+        assertFalse(routes.unregister(8, listener));
+        assertEquals(11, routes.invoker(7).onRouted(7, 0));
+        assertTrue(routes.unregister(7, listener));
+        assertEquals(0, routes.routeCount());
+        assertEquals(10, routes.invoker(7).onRouted(7, 0));
+        assertTrue(routes.unregisterWildcard(wildcard));
+        assertFalse(routes.unregisterWildcard(wildcard));
+        assertEquals(0, routes.invoker(7).onRouted(7, 0));
+        routes.register(7, listener);
+        assertEquals(1, routes.invoker(7).onRouted(7, 0));
+    }
+
+    @Test
+    public void manyRoutesSurviveGrowthAndRemoval() {
+        final EventRoutes<Object, Routed> routes = EventRoutes.create(TestEventKeys.ROUTED_KEY);
+        final Routed[] listeners = new Routed[1000];
+        for (int i = 0; i < listeners.length; i++) {
+            final int value = i;
+            listeners[i] = (entity, amount) -> value;
+            routes.register(i * 31L, listeners[i]);
+        }
+        for (int i = 0; i < listeners.length; i += 2) {
+            assertTrue(routes.unregister(i * 31L, listeners[i]));
+        }
+        for (int i = 0; i < listeners.length; i++) {
+            routes.register(-i - 1L, listeners[i]);
+        }
+        assertEquals(1500, routes.routeCount());
+        for (int i = 0; i < listeners.length; i++) {
+            assertEquals(i % 2 == 0 ? 0 : i, routes.invoker(i * 31L).onRouted(0, 0));
+            assertEquals(i, routes.invoker(-i - 1L).onRouted(0, 0));
+        }
+    }
+
+    @Test
+    public void sortsRoutedAndWildcardListenersTogether() {
+        final EventRoutes<Object, Ranked> routes = EventRoutes.create(TestEventKeys.RANKED_KEY);
+        routes.register(1L, ranked(3));
+        routes.registerWildcard(ranked(2));
+        routes.register(1L, ranked(1));
+        routes.registerWildcard(ranked(4));
+        final List<Integer> out = new ArrayList<>();
+        Ranked.routed(routes).onRanked(1L, out);
+        assertEquals(List.of(1, 2, 3, 4), out);
+        out.clear();
+        Ranked.routed(routes).onRanked(2L, out);
+        assertEquals(List.of(2, 4), out);
+    }
+
+    @Test
+    public void builderPutsWildcardsFirst() {
+        final EventRoutes<Long, Routed> routes = EventRoutes.<Long, Routed>builder(TestEventKeys.ROUTED_KEY, Routed.factory())
+                .route(1L, (entity, amount) -> amount)
+                .wildcard((entity, amount) -> 1000)
+                .build();
+        assertEquals(1002, routes.invoker(1L).onRouted(1, 2));
+        assertEquals(1, routes.routeCount());
+    }
+
+    @Test
+    public void readersSeeConsistentRoutesWhileRegistering() throws InterruptedException {
+        final EventRoutes<Object, Routed> routes = EventRoutes.create(TestEventKeys.ROUTED_KEY);
+        routes.register(0, (entity, amount) -> 1);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    if (routes.invoker(0).onRouted(0, 0) != 1) {
+                        throw new AssertionError("Lost route 0");
+                    }
+                }
+            } catch (final Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        for (int i = 1; i < 5000; i++) {
+            routes.register(i, (entity, amount) -> 2);
+        }
+        done.set(true);
+        reader.join();
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void registryEntriesOwnTheirRoutes() {
+        final EventRegistry registry = new EventRegistry();
+        final EventRegistry.Entry<Routed, Routed.View> entry = registry.register(TestEventKeys.ROUTED_KEY);
+        assertSame(entry.routes(), entry.routes());
+        entry.routes().register(5, (entity, amount) -> 5);
+        entry.register((entity, amount) -> 1);
+        assertEquals(5, Routed.routed(entry.routes()).onRouted(5, 0));
+        assertEquals(1, entry.invoker().onRouted(5, 0));
+    }
+
+    private static Ranked ranked(final int rank) {
+        return new Ranked() {
+            @Override
+            public int ord() {
+                return rank;
+            }
+
+            @Override
+            public void onRanked(final long entity, final List<Integer> out) {
+                out.add(rank);
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.stuff_stuffs.event_gen.api.event;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Changed;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import io.github.stuff_stuffs.event_gen.events.odd.keys_file;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("stats")
+public class EventStatsTest {
+    @BeforeEach
+    public void setUp() {
+        assertTrue(EventStats.ENABLED);
+        TestEventKeys.STATS.reset();
+    }
+
+    @Test
+    public void countsFiresAndRegisteredListeners() {
+        final Tick invoker = Tick.factory().invoker(List.of((amount, label) -> {
+        }, (amount, label) -> {
+        }));
+        invoker.onTick(1, "a");
+        invoker.onTick(2, "b");
+        final EventStats.KeyStats stats = stats(TestEventKeys.TICK_KEY);
+        assertEquals(2, stats.fires());
+        assertEquals(4, stats.registeredListeners());
+    }
+
+    @Test
+    public void countsDelayedEvents() {
+        final List<Runnable> queue = new ArrayList<>();
+        final Tick delayed = Tick.factory().delay((amount, label) -> {
+        }, queue::add);
+        delayed.onTick(1, "a");
+        delayed.onTick(2, "b");
+        queue.get(0).run();
+        final EventStats.KeyStats stats = stats(TestEventKeys.TICK_KEY);
+        assertEquals(2, stats.delayedQueued());
+        assertEquals(1, stats.delayedDrained());
+    }
+
+    @Test
+    public void countsBufferedEvents() {
+        final EventBuffer<Tick> buffer = Tick.factory().buffer((amount, label) -> {
+        }, 2);
+        for (int i = 0; i < 5; i++) {
+            buffer.sink().onTick(i, "x");
+        }
+        buffer.drain();
+        buffer.sink().onTick(5, "y");
+        final EventStats.KeyStats stats = stats(TestEventKeys.TICK_KEY);
+        assertEquals(6, stats.delayedQueued());
+        assertEquals(5, stats.delayedDrained());
+    }
+
+    @Test
+    public void coalescedPushesAreNotQueuedTwice() {
+        final EventBuffer<Changed> buffer = Changed.factory().buffer((id, value) -> {
+        }, 4);
+        buffer.sink().onChanged(1, "a");
+        buffer.sink().onChanged(1, "b");
+        buffer.sink().onChanged(2, "c");
+        buffer.drain();
+        final EventStats.KeyStats stats = stats(TestEventKeys.CHANGED_KEY);
+        assertEquals(2, stats.delayedQueued());
+        assertEquals(2, stats.delayedDrained());
+    }
+
+    @Test
+    public void unconventionalKeyFilesCount() {
+        keys_file.ODD_KEY.requireFactory().invoker(List.of(value -> {
+        })).onOdd(1);
+        assertEquals(1, keys_file.STATS.snapshot().keys().get(0).fires());
+    }
+
+    private static EventStats.KeyStats stats(final EventKey<?, ?> key) {
+        for (final EventStats.KeyStats stats : TestEventKeys.STATS.snapshot().keys()) {
+            if (stats.key() == key) {
+                return stats;
+            }
+        }
+        throw new AssertionError("No stats for " + key.mut().getName());
+    }
+}
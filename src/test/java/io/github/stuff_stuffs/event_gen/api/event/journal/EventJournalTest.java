@@ -0,0 +1,226 @@
+package io.github.stuff_stuffs.event_gen.api.event.journal;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Empty;
+import io.github.stuff_stuffs.event_gen.events.gen.Generic;
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventJournalTest {
+    @Test
+    public void replaysRecordedEventsAcrossSegments(@TempDir final Path directory) throws IOException {
+        final List<String> live = new ArrayList<>();
+        try (final EventJournal journal = EventJournal.open(directory, 64)) {
+            final Tick tick = Tick.codec(ValueCodecs.STRING).recorder(journal, 0, (amount, label) -> live.add(amount + label));
+            final Score score = Score.codec().recorder(journal, 3, base -> base * 2);
+            final Empty empty = Empty.codec().recorder(journal, 1, () -> live.add("empty"));
+            for (int i = 0; i < 20; i++) {
+                tick.onTick(i, i % 3 == 0 ? null : "x".repeat(i));
+                assertEquals(i * 2, score.onScore(i));
+                empty.onEmpty();
+            }
+        }
+        assertTrue(segmentCount(directory) > 1);
+        final List<String> replayed = new ArrayList<>();
+        final int[] scores = {0};
+        EventJournal.replay(directory, new EventReplayer()
+                .register(0, Tick.codec(ValueCodecs.STRING), (amount, label) -> replayed.add(amount + label))
+                .register(3, Score.codec(), base -> scores[0] += base)
+                .register(1, Empty.codec(), () -> replayed.add("empty")));
+        assertEquals(live, replayed);
+        assertEquals(190, scores[0]);
+    }
+
+    @Test
+    public void appendsAfterReopening(@TempDir final Path directory) throws IOException {
+        try (final EventJournal journal = EventJournal.open(directory, 128)) {
+            Score.codec().recorder(journal, 0, base -> base).onScore(1);
+        }
+        try (final EventJournal journal = EventJournal.open(directory, 128)) {
+            Score.codec().recorder(journal, 0, base -> base).onScore(2);
+        }
+        final List<Integer> replayed = new ArrayList<>();
+        EventJournal.replay(directory, new EventReplayer().register(0, Score.codec(), base -> {
+            replayed.add(base);
+            return 0;
+        }));
+        assertEquals(List.of(1, 2), replayed);
+    }
+
+    @Test
+    public void stopsAtATruncatedTrailingRecord(@TempDir final Path directory) throws IOException {
+        try (final EventJournal journal = EventJournal.open(directory, 1 << 12)) {
+            final Tick tick = Tick.codec(ValueCodecs.STRING).recorder(journal, 0, (amount, label) -> {
+            });
+            tick.onTick(1, "first");
+            tick.onTick(2, "second");
+        }
+        final Path segment;
+        try (final Stream<Path> list = Files.list(directory)) {
+            segment = list.findFirst().orElseThrow();
+        }
+        //Header, int and string length prefix of the first record, then half of the second record
+        final int firstRecord = 8 + 4 + 4 + "first".length();
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(firstRecord + 12);
+        }
+        final List<String> replayed = new ArrayList<>();
+        EventJournal.replay(directory, new EventReplayer().register(0, Tick.codec(ValueCodecs.STRING), (amount, label) -> replayed.add(amount + label)));
+        assertEquals(List.of("1first"), replayed);
+    }
+
+    @Test
+    public void keepsConcurrentAppends(@TempDir final Path directory) throws Exception {
+        final int threads = 4;
+        final int perThread = 2000;
+        try (final EventJournal journal = EventJournal.open(directory, 1 << 12)) {
+            final Score recorder = Score.codec().recorder(journal, 0, base -> base);
+            final List<Thread> running = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * perThread;
+                final Thread thread = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        recorder.onScore(offset + i);
+                    }
+                });
+                thread.start();
+                running.add(thread);
+            }
+            for (final Thread thread : running) {
+                thread.join();
+            }
+        }
+        final Set<Integer> replayed = Collections.synchronizedSet(new HashSet<>());
+        EventJournal.replay(directory, new EventReplayer().register(0, Score.codec(), base -> {
+            replayed.add(base);
+            return 0;
+        }));
+        assertEquals(threads * perThread, replayed.size());
+    }
+
+    @Test
+    public void keepsAppendsRacingRollsFlushesAndClose(@TempDir final Path directory) throws Exception {
+        final int threads = 4;
+        final Set<Integer> appended = Collections.synchronizedSet(new HashSet<>());
+        final EventJournal journal = EventJournal.open(directory, 256);
+        final Score recorder = Score.codec().recorder(journal, 0, base -> base);
+        final List<Thread> running = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * 1_000_000;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; ; i++) {
+                    try {
+                        recorder.onScore(offset + i);
+                    } catch (final IllegalStateException e) {
+                        return;
+                    }
+                    appended.add(offset + i);
+                    if (i % 64 == 0) {
+                        journal.flush();
+                    }
+                }
+            });
+            thread.start();
+            running.add(thread);
+        }
+        while (appended.size() < 5000) {
+            Thread.onSpinWait();
+        }
+        journal.close();
+        for (final Thread thread : running) {
+            thread.join();
+        }
+        final Set<Integer> replayed = Collections.synchronizedSet(new HashSet<>());
+        EventJournal.replay(directory, new EventReplayer().register(0, Score.codec(), base -> {
+            replayed.add(base);
+            return 0;
+        }));
+        assertTrue(replayed.containsAll(appended));
+    }
+
+    @Test
+    public void rejectsAppendsAfterClose(@TempDir final Path directory) throws IOException {
+        final EventJournal journal = EventJournal.open(directory, 64);
+        final Empty empty = Empty.codec().recorder(journal, 0, () -> {
+        });
+        journal.close();
+        assertThrows(IllegalStateException.class, empty::onEmpty);
+    }
+
+    @Test
+    public void recordsGenericParameters(@TempDir final Path directory) throws IOException {
+        final List<String> live = new ArrayList<>();
+        try (final EventJournal journal = EventJournal.open(directory, 256)) {
+            Generic.codec(new IntegerCodec(), new ListCodec()).recorder(journal, 0, new Generic() {
+                @Override
+                public <T extends Number> void onGeneric(final T value, final List<T> values) {
+                    live.add(value + "" + values);
+                }
+            }).onGeneric(3, List.of(1, 2));
+        }
+        final List<String> replayed = new ArrayList<>();
+        EventJournal.replay(directory, new EventReplayer()
+                .register(0, Generic.codec(new IntegerCodec(), new ListCodec()), new Generic() {
+                    @Override
+                    public <T extends Number> void onGeneric(final T value, final List<T> values) {
+                        replayed.add(value + "" + values);
+                    }
+                }));
+        assertEquals(List.of("3[1, 2]"), live);
+        assertEquals(live, replayed);
+    }
+
+    private static long segmentCount(final Path directory) throws IOException {
+        try (final Stream<Path> list = Files.list(directory)) {
+            return list.count();
+        }
+    }
+
+    private static final class IntegerCodec implements ValueCodec<Number> {
+        @Override
+        public void write(final JournalOutput output, final Number value) {
+            output.writeInt(value.intValue());
+        }
+
+        @Override
+        public Number read(final java.nio.ByteBuffer input) {
+            return input.getInt();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class ListCodec implements ValueCodec<List> {
+        @Override
+        public void write(final JournalOutput output, final List value) {
+            output.writeInt(value.size());
+            for (final Object element : value) {
+                output.writeInt(((Number) element).intValue());
+            }
+        }
+
+        @Override
+        public List read(final java.nio.ByteBuffer input) {
+            final int size = input.getInt();
+            final List<Integer> list = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                list.add(input.getInt());
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DelegatingClassWriterTest {
+    public interface Everything {
+        void none();
+
+        boolean flag(boolean value);
+
+        byte small(byte value);
+
+        char letter(char value);
+
+        short medium(short value);
+
+        int number(int first, int second);
+
+        long wide(long first, int second, long third);
+
+        float single(float value);
+
+        double pair(double first, double second);
+
+        String text(String value, Object other);
+
+        int[] array(int[] values);
+    }
+
+    private static final class Target {
+        static void none() {
+        }
+
+        static boolean flag(final boolean value) {
+            return !value;
+        }
+
+        static byte small(final byte value) {
+            return (byte) (value + 1);
+        }
+
+        static char letter(final char value) {
+            return Character.toUpperCase(value);
+        }
+
+        static short medium(final short value) {
+            return (short) (value * 2);
+        }
+
+        static int number(final int first, final int second) {
+            return first - second;
+        }
+
+        static long wide(final long first, final int second, final long third) {
+            return first * second + third;
+        }
+
+        static float single(final float value) {
+            return value / 2;
+        }
+
+        static double pair(final double first, final double second) {
+            return first + second;
+        }
+
+        static String text(final String value, final Object other) {
+            return value + other;
+        }
+
+        static int[] array(final int[] values) {
+            return new int[]{values.length};
+        }
+    }
+
+    @Test
+    public void forwardsEveryMethodToItsHandle() throws Throwable {
+        final List<Method> methods = Arrays.stream(Everything.class.getMethods()).sorted(Comparator.comparing(Method::getName)).toList();
+        final byte[] bytes = DelegatingClassWriter.write("io/github/stuff_stuffs/event_gen/api/event/runtime/EverythingImpl", Everything.class, methods);
+        final MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        final Class<?> defined = lookup.lookupClass();
+        assertTrue(Modifier.isFinal(defined.getModifiers()));
+        assertTrue(Everything.class.isAssignableFrom(defined));
+        final MethodHandle[] handles = new MethodHandle[methods.size()];
+        for (int i = 0; i < handles.length; i++) {
+            final Method method = methods.get(i);
+            handles[i] = MethodHandles.lookup().findStatic(Target.class, method.getName(), MethodType.methodType(method.getReturnType(), method.getParameterTypes()));
+        }
+        final Everything everything = (Everything) lookup.findConstructor(defined, MethodType.methodType(void.class, MethodHandle[].class)).invoke(handles);
+        everything.none();
+        assertFalse(everything.flag(true));
+        assertEquals(8, everything.small((byte) 7));
+        assertEquals('Q', everything.letter('q'));
+        assertEquals(-6, everything.medium((short) -3));
+        assertEquals(3, everything.number(5, 2));
+        assertEquals(Long.MAX_VALUE, everything.wide(Long.MAX_VALUE / 2, 2, 1));
+        assertEquals(1.25F, everything.single(2.5F));
+        assertEquals(4.5, everything.pair(1.5, 3));
+        assertEquals("a1", everything.text("a", 1));
+        assertArrayEquals(new int[]{3}, everything.array(new int[3]));
+    }
+
+    @Test
+    public void handlesAreBoundPerInstance() throws Throwable {
+        final Method method = Everything.class.getMethod("number", int.class, int.class);
+        final List<Method> methods = List.of(method);
+        final byte[] bytes = DelegatingClassWriter.write("io/github/stuff_stuffs/event_gen/api/event/runtime/NumberImpl", Everything.class, methods);
+        final MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        final MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, MethodHandle[].class));
+        final MethodHandle subtract = MethodHandles.lookup().findStatic(Target.class, "number", MethodType.methodType(int.class, int.class, int.class));
+        final MethodHandle add = MethodHandles.lookup().findStatic(Integer.class, "sum", MethodType.methodType(int.class, int.class, int.class));
+        final Everything first = (Everything) constructor.invoke(new MethodHandle[]{subtract});
+        final Everything second = (Everything) constructor.invoke(new MethodHandle[]{add});
+        assertEquals(1, first.number(3, 2));
+        assertEquals(5, second.number(3, 2));
+    }
+}
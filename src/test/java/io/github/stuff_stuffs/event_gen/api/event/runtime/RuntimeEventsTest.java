@@ -0,0 +1,200 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventBuffer;
+import io.github.stuff_stuffs.event_gen.api.event.EventKey;
+import io.github.stuff_stuffs.event_gen.api.event.EventLink;
+import io.github.stuff_stuffs.event_gen.api.event.EventRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuntimeEventsTest {
+    static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    public interface Sum {
+        long onSum(int x, long y, String s);
+    }
+
+    public interface SumView {
+        void onSum(int x, long y, Object s);
+    }
+
+    public interface Ord {
+        boolean onOrd(List<String> out);
+
+        int ord();
+    }
+
+    public interface OrdView {
+        void onOrd(List<String> out);
+
+        int ord();
+    }
+
+    public interface Plain {
+        void onPlain(double d);
+    }
+
+    public interface Broken {
+        void onFirst();
+
+        void onSecond();
+    }
+
+    static long add(final long first, final long second) {
+        return first + second;
+    }
+
+    static boolean and(final boolean first, final boolean second) {
+        return first && second;
+    }
+
+    static EventKey<Sum, SumView> sumKey() throws ReflectiveOperationException {
+        return RuntimeEvents.define(LOOKUP, Sum.class, SumView.class, new RuntimeEventInfo<>(5L, LOOKUP.findStatic(RuntimeEventsTest.class, "add", MethodType.methodType(long.class, long.class, long.class)), null, null));
+    }
+
+    @Test
+    public void combinesEverySize() throws ReflectiveOperationException {
+        final EventKey<Sum, SumView> key = sumKey();
+        for (final int size : new int[]{0, 1, 3, 16, 17, 40}) {
+            final Sum[] listeners = new Sum[size];
+            long expected = 5;
+            for (int i = 0; i < size; i++) {
+                final int value = i;
+                listeners[i] = (x, y, s) -> value + x + y + s.length();
+                expected += i + 6;
+            }
+            assertEquals(expected, key.requireFactory().invoker(listeners).onSum(1, 2, "abc"), "invoker of " + size);
+            assertEquals(expected, key.requireFactory().invoker(Arrays.asList(listeners)).onSum(1, 2, "abc"), "list invoker of " + size);
+            assertEquals(expected, key.requireFactory().link(listeners).invoker().onSum(1, 2, "abc"), "link of " + size);
+        }
+    }
+
+    @Test
+    public void linksRelinkInPlace() throws ReflectiveOperationException {
+        final EventKey<Sum, SumView> key = sumKey();
+        final EventLink<Sum> link = key.requireFactory().link(new Sum[]{(x, y, s) -> 1});
+        final EventLink<Sum> other = key.requireFactory().link(new Sum[]{(x, y, s) -> 100});
+        final Sum invoker = link.invoker();
+        link.relink(new Sum[]{(x, y, s) -> 2, (x, y, s) -> 3});
+        assertEquals(10, invoker.onSum(0, 0, ""));
+        assertEquals(105, other.invoker().onSum(0, 0, ""));
+    }
+
+    @Test
+    public void convertsDelaysAndBuffers() throws ReflectiveOperationException {
+        final EventKey<Sum, SumView> key = sumKey();
+        final long[] seen = {0};
+        final Sum converted = key.requireFactory().convert((x, y, s) -> seen[0] = x + y);
+        assertEquals(5, converted.onSum(3, 4, ""));
+        assertEquals(7, seen[0]);
+        final List<Runnable> delayed = new ArrayList<>();
+        final Sum delay = key.requireFactory().delay((x, y, s) -> seen[0] = x * y, delayed::add);
+        assertEquals(5, delay.onSum(6, 7, ""));
+        assertEquals(7, seen[0]);
+        delayed.forEach(Runnable::run);
+        assertEquals(42, seen[0]);
+        final EventBuffer<Sum> buffer = key.requireFactory().buffer((x, y, s) -> seen[0] += x, 1);
+        seen[0] = 0;
+        for (int i = 0; i < 10; i++) {
+            buffer.sink().onSum(i, 0, "");
+        }
+        assertEquals(10, buffer.size());
+        buffer.drain();
+        assertEquals(45, seen[0]);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void bufferKeepsTheUndeliveredTail() throws ReflectiveOperationException {
+        final List<Integer> delivered = new ArrayList<>();
+        final EventBuffer<Sum> buffer = sumKey().requireFactory().buffer((x, y, s) -> {
+            delivered.add(x);
+            if (x == 1) {
+                throw new IllegalStateException();
+            }
+            return 0;
+        }, 1);
+        for (int i = 0; i < 4; i++) {
+            buffer.sink().onSum(i, 0, "");
+        }
+        assertThrows(IllegalStateException.class, buffer::drain);
+        assertEquals(2, buffer.size());
+        buffer.drain();
+        assertEquals(List.of(0, 1, 2, 3), delivered);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void observersSeeTheArguments() throws ReflectiveOperationException {
+        final EventKey<Sum, SumView> key = sumKey();
+        final List<String> seen = new ArrayList<>();
+        final Sum observed = key.requireFactory().observed(key.requireFactory().invoker(new Sum[]{(x, y, s) -> 100}), new SumView[]{(x, y, s) -> seen.add("o" + x + s)}, Runnable::run);
+        assertEquals(105, observed.onSum(1, 0, "z"));
+        assertEquals(List.of("o1z"), seen);
+    }
+
+    @Test
+    public void ordersAndShortCircuits() throws ReflectiveOperationException {
+        final EventKey<Ord, OrdView> key = RuntimeEvents.define(LOOKUP, Ord.class, OrdView.class, new RuntimeEventInfo<>(true, LOOKUP.findStatic(RuntimeEventsTest.class, "and", MethodType.methodType(boolean.class, boolean.class, boolean.class)), false, Comparator.comparingInt(Ord::ord)));
+        final EventRegistry registry = new EventRegistry();
+        final EventRegistry.Entry<Ord, OrdView> entry = registry.register(key);
+        for (int i = 0; i < 30; i++) {
+            final int value = 29 - i;
+            entry.register(new Ord() {
+                @Override
+                public boolean onOrd(final List<String> out) {
+                    out.add(Integer.toString(value));
+                    return value != 25;
+                }
+
+                @Override
+                public int ord() {
+                    return value;
+                }
+            });
+        }
+        final List<String> out = new ArrayList<>();
+        assertFalse(registry.invoker(key).onOrd(out));
+        assertEquals(26, out.size());
+        assertEquals("0", out.get(0));
+        assertEquals("25", out.get(25));
+        assertThrows(UnsupportedOperationException.class, () -> registry.invoker(key).ord());
+        assertEquals(9, key.requireFactory().convert(new OrdView() {
+            @Override
+            public void onOrd(final List<String> out) {
+            }
+
+            @Override
+            public int ord() {
+                return 9;
+            }
+        }).ord());
+    }
+
+    @Test
+    public void sharesTheImplementationPerInterface() {
+        final EventKey<Plain, Plain> key = RuntimeEvents.define(LOOKUP, Plain.class, Plain.class, RuntimeEventInfo.of());
+        final double[] sum = {0};
+        final Plain[] listeners = new Plain[20];
+        Arrays.fill(listeners, (Plain) d -> sum[0] += d);
+        key.requireFactory().invoker(listeners).onPlain(0.5);
+        assertEquals(10.0, sum[0]);
+        final EventKey.Factory<Plain, Plain> other = RuntimeEvents.factory(LOOKUP, Plain.class, Plain.class, RuntimeEventInfo.of());
+        assertSame(other.invoker(listeners).getClass(), key.requireFactory().invoker(listeners).getClass());
+        assertTrue(key.requireFactory().invoker(listeners).getClass().isHidden());
+    }
+
+    @Test
+    public void rejectsInvalidInterfaces() {
+        assertThrows(IllegalArgumentException.class, () -> RuntimeEvents.define(LOOKUP, Broken.class, Broken.class, RuntimeEventInfo.of()));
+        assertThrows(IllegalArgumentException.class, () -> RuntimeEvents.define(LOOKUP, Sum.class, SumView.class, RuntimeEventInfo.of()));
+    }
+}
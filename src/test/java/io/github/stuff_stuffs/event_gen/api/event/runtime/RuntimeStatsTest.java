@@ -0,0 +1,53 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventBuffer;
+import io.github.stuff_stuffs.event_gen.api.event.EventKey;
+import io.github.stuff_stuffs.event_gen.api.event.EventStats;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("stats")
+public class RuntimeStatsTest {
+    @Test
+    public void countsRuntimeEvents() throws ReflectiveOperationException {
+        assertTrue(EventStats.ENABLED);
+        final EventKey<RuntimeEventsTest.Sum, RuntimeEventsTest.SumView> key = RuntimeEventsTest.sumKey();
+        final EventKey.Factory<RuntimeEventsTest.Sum, RuntimeEventsTest.SumView> factory = key.requireFactory();
+        factory.invoker(new RuntimeEventsTest.Sum[]{(x, y, s) -> 1, (x, y, s) -> 2}).onSum(0, 0, "");
+        final List<Runnable> delayed = new ArrayList<>();
+        final RuntimeEventsTest.Sum delay = factory.delay((x, y, s) -> 0, delayed::add);
+        delay.onSum(0, 0, "");
+        delay.onSum(0, 0, "");
+        delayed.get(0).run();
+        final EventBuffer<RuntimeEventsTest.Sum> buffer = factory.buffer((x, y, s) -> 0, 1);
+        buffer.sink().onSum(0, 0, "");
+        buffer.drain();
+        final EventStats stats = ((RuntimeFactory<?, ?>) factory).stats();
+        assertNotNull(stats);
+        final EventStats.KeyStats counts = stats.snapshot().keys().get(0);
+        assertEquals(1, counts.fires());
+        assertEquals(2, counts.registeredListeners());
+        assertEquals(3, counts.delayedQueued());
+        assertEquals(2, counts.delayedDrained());
+    }
+
+    @Test
+    public void releasesStatsOfUnreachableKeys() throws ReflectiveOperationException, InterruptedException {
+        final WeakReference<EventStats> stats = new WeakReference<>(((RuntimeFactory<?, ?>) RuntimeEventsTest.sumKey().requireFactory()).stats());
+        assertNotNull(stats.get());
+        for (int i = 0; i < 100 && stats.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(stats.get());
+    }
+}
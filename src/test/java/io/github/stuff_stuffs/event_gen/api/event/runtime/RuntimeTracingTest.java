@@ -0,0 +1,36 @@
+package io.github.stuff_stuffs.event_gen.api.event.runtime;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventKey;
+import io.github.stuff_stuffs.event_gen.api.event.EventTracing;
+import io.github.stuff_stuffs.event_gen.api.event.HistogramEventTracer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("tracing")
+public class RuntimeTracingTest {
+    @Test
+    public void tracesRuntimeInvokers() throws ReflectiveOperationException {
+        final HistogramEventTracer tracer = (HistogramEventTracer) EventTracing.tracer();
+        tracer.reset();
+        final EventKey<RuntimeEventsTest.Sum, RuntimeEventsTest.SumView> key = RuntimeEventsTest.sumKey();
+        final RuntimeEventsTest.Sum first = (x, y, s) -> x;
+        final RuntimeEventsTest.Sum second = (x, y, s) -> {
+            if (s == null) {
+                throw new IllegalStateException();
+            }
+            return y;
+        };
+        final RuntimeEventsTest.Sum invoker = key.requireFactory().invoker(new RuntimeEventsTest.Sum[]{first, second});
+        assertEquals(8, invoker.onSum(1, 2, "a"));
+        assertThrows(IllegalStateException.class, () -> invoker.onSum(1, 2, null));
+        assertEquals(2, tracer.invocations(RuntimeEventsTest.Sum.class));
+        assertEquals(1, tracer.failures(RuntimeEventsTest.Sum.class));
+        assertEquals(2, Arrays.stream(tracer.latencyHistogram(RuntimeEventsTest.Sum.class, first)).sum());
+        assertEquals(1, Arrays.stream(tracer.latencyHistogram(RuntimeEventsTest.Sum.class, second)).sum());
+    }
+}
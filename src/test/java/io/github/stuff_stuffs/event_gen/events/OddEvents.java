@@ -0,0 +1,11 @@
+package io.github.stuff_stuffs.event_gen.events;
+
+import io.github.stuff_stuffs.event_gen.api.event.gen.*;
+
+//A key file whose name does not look like a class
+@EventPackageLocation("io.github.stuff_stuffs.event_gen.events.odd")
+@EventKeyLocation(location = "io.github.stuff_stuffs.event_gen.events.odd.keys_file")
+public interface OddEvents {
+    @EventInfo
+    void Odd(int value);
+}
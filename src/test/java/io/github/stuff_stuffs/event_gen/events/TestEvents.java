@@ -0,0 +1,146 @@
+package io.github.stuff_stuffs.event_gen.events;
+
+import io.github.stuff_stuffs.event_gen.api.event.gen.*;
+
+import java.util.List;
+
+@EventPackageLocation("io.github.stuff_stuffs.event_gen.events.gen")
+@EventKeyLocation(location = "io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys")
+public interface TestEvents {
+    @EventBuffered
+    @EventIsolated
+    @EventJournaled
+    @EventLinked
+    @EventInfo
+    void Tick(int amount, String label);
+
+    @EventIsolated
+    @EventJournaled
+    @EventLinked
+    @EventObserved
+    @EventInfo(defaultValue = "0", combiner = "Integer.sum")
+    int Score(int base);
+
+    @EventLinked
+    @EventInfo(defaultValue = "true", combiner = "Boolean.logicalAnd", shortCircuit = "false")
+    boolean Allow(Subject subject);
+
+    @EventBuffered
+    @EventJournaled
+    @EventLinked
+    @EventInfo
+    <T extends Number> void Generic(T value, List<T> values);
+
+    @EventBuffered
+    @EventJournaled
+    @EventInfo
+    void Empty();
+
+    @EventCoalescing(keys = "id")
+    @EventInfo
+    void Changed(int id, String value);
+
+    @EventCoalescing(policy = EventCoalescing.Policy.KEEP_FIRST)
+    @EventInfo
+    void Kept(int id, String value);
+
+    @EventCoalescing(policy = EventCoalescing.Policy.KEEP_FIRST)
+    @EventInfo
+    void Moved(double x, float y);
+
+    @EventInfo(defaultValue = "0", combiner = "io.github.stuff_stuffs.event_gen.events.TestEvents.exactSum")
+    int Strict(int value);
+
+    @EventParallelReduction(threshold = 4)
+    @EventInfo(defaultValue = "0", combiner = "Integer.sum")
+    int Summed(int value);
+
+    @EventAsync
+    @EventInfo(defaultValue = "true", combiner = "Boolean.logicalAnd", shortCircuit = "false")
+    boolean Queued(List<Integer> order, int value);
+
+    @EventAsync(concurrent = true)
+    @EventInfo(defaultValue = "0", combiner = "Integer.sum")
+    int Fanned(int value);
+
+    @EventAsync(concurrent = true)
+    @EventInfo
+    void Spread(List<Thread> threads);
+
+    @EventInfo(defaultValue = "0", combiner = "Integer.sum")
+    int Routed(@EventRoute int entity, int amount);
+
+    @EventInfo
+    void Tagged(@EventRoute String tag, List<String> out);
+
+    @EventComparisonInfo(comparedType = int.class)
+    @EventInfo
+    void Ranked(@EventRoute long entity, List<Integer> out);
+
+    //Named after every parameter and local the generated bodies declare next to the event parameters, see ParameterCollisionTest
+    @EventIsolated
+    @EventJournaled
+    @EventLinked
+    @EventObserved
+    @EventParallelReduction(threshold = 2)
+    @EventAsync(concurrent = true)
+    @EventInfo(combiner = EventInfo.SUM)
+    int Collided(int event0, int event1, int event2, int current, int failures, int handle, int t, int copy, int observer, int executor, int out, int journal, int type, int tracer, int start, int e, int i, int events, int res, int r, int sequential, int pool, int threshold, int fromIndex, int toIndex, int futures, int event, int invoker, int listeners, int delegate, int consumer, int view, @EventRoute int routes);
+
+    @EventComparisonInfo(comparedType = int.class)
+    @EventInfo(defaultValue = "0", combiner = "Integer.sum")
+    int Sorted(int view, List<Integer> out);
+
+    @EventComparisonInfo(comparedType = int.class, banded = true)
+    @EventInfo
+    void Banded(List<Integer> out);
+
+    @EventComparisonInfo(comparedType = long.class, reversed = true)
+    @EventInfo
+    void Descending(List<Long> out);
+
+    @EventComparisonInfo(comparedType = int.class, banded = true, reversed = true)
+    @EventInfo
+    void Demoted(List<Integer> out);
+
+    @EventComparisonInfo(comparator = "String.CASE_INSENSITIVE_ORDER", comparedType = String.class, reversed = true)
+    @EventInfo
+    void Named(List<String> out);
+
+    @EventIsolated
+    @EventParallelReduction(threshold = 2)
+    @EventInfo(combiner = EventInfo.AND)
+    boolean Vetoed(int value);
+
+    @EventInfo(combiner = EventInfo.SUM)
+    long Total(int value);
+
+    @EventInfo(combiner = EventInfo.MAX)
+    Integer Peak(int value);
+
+    @EventInfo(combiner = EventInfo.SUM)
+    Short Stacked(short value);
+
+    @EventInfo(combiner = EventInfo.OR)
+    Boolean Any(boolean value, List<Boolean> seen);
+
+    @EventInfo(defaultValue = "\"$1\"", combiner = "io.github.stuff_stuffs.event_gen.events.TestEvents.concat")
+    String Labelled(String label);
+
+    static String concat(final String first, final String second) {
+        return first + second;
+    }
+
+    static int exactSum(final int first, final int second) {
+        return Math.addExact(first, second);
+    }
+
+    @EventViewable(viewClass = SubjectView.class)
+    interface Subject extends SubjectView {
+        void set(int value);
+    }
+
+    interface SubjectView {
+        int get();
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Fanned;
+import io.github.stuff_stuffs.event_gen.events.gen.Queued;
+import io.github.stuff_stuffs.event_gen.events.gen.Spread;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncInvokerTest {
+    private static ExecutorService executor;
+
+    @BeforeAll
+    public static void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void sequentialRunsInOrderInOneTask() {
+        final List<Integer> order = new ArrayList<>();
+        final Queued[] listeners = new Queued[8];
+        for (int i = 0; i < listeners.length; i++) {
+            final int index = i;
+            listeners[i] = (out, value) -> {
+                out.add(index * value);
+                return true;
+            };
+        }
+        assertTrue(Queued.async(listeners, executor).onQueued(order, 2).join());
+        assertEquals(List.of(0, 2, 4, 6, 8, 10, 12, 14), order);
+    }
+
+    @Test
+    public void sequentialShortCircuits() {
+        final List<Integer> order = new ArrayList<>();
+        final Queued[] listeners = {
+                (out, value) -> out.add(1),
+                (out, value) -> !out.add(2),
+                (out, value) -> out.add(3)
+        };
+        assertFalse(Queued.async(listeners, executor).onQueued(order, 0).join());
+        assertEquals(List.of(1, 2), order);
+    }
+
+    @Test
+    public void sequentialCopiesTheListeners() {
+        final List<Integer> order = new ArrayList<>();
+        final Queued[] listeners = {(out, value) -> out.add(value)};
+        final Queued.Async async = Queued.async(listeners, executor);
+        listeners[0] = (out, value) -> false;
+        assertTrue(async.onQueued(order, 5).join());
+        assertEquals(List.of(5), order);
+    }
+
+    @Test
+    public void failuresCompleteExceptionally() {
+        final Queued[] listeners = {(out, value) -> {
+            throw new IllegalStateException("boom");
+        }};
+        final CompletionException thrown = assertThrows(CompletionException.class, () -> Queued.async(listeners, executor).onQueued(new ArrayList<>(), 0).join());
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void concurrentCombinesEveryListener() {
+        final Fanned[] listeners = new Fanned[10];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = value -> value;
+        }
+        assertEquals(10 * 3, Fanned.async(listeners, executor).onFanned(3).join());
+        assertEquals(0, Fanned.async(new Fanned[0], executor).onFanned(3).join());
+    }
+
+    @Test
+    public void concurrentRunsListenersInParallel() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final Spread listener = out -> {
+            out.add(Thread.currentThread());
+            latch.countDown();
+            try {
+                //Both listeners only get here if they run at the same time
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        Spread.async(new Spread[]{listener, listener}, executor).onSpread(threads).join();
+        assertEquals(2, threads.size());
+        assertTrue(latch.await(0, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventBuffer;
+import io.github.stuff_stuffs.event_gen.events.gen.Changed;
+import io.github.stuff_stuffs.event_gen.events.gen.Empty;
+import io.github.stuff_stuffs.event_gen.events.gen.Generic;
+import io.github.stuff_stuffs.event_gen.events.gen.Kept;
+import io.github.stuff_stuffs.event_gen.events.gen.Moved;
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferTest {
+    @Test
+    public void drainsInPushOrder() {
+        final StringBuilder delivered = new StringBuilder();
+        final EventBuffer<Tick> buffer = Tick.factory().buffer((amount, label) -> delivered.append(amount).append(label), 1);
+        for (int i = 0; i < 20; i++) {
+            buffer.sink().onTick(i, ",");
+        }
+        assertEquals(20, buffer.size());
+        assertEquals("", delivered.toString());
+        buffer.drain();
+        assertEquals(0, buffer.size());
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            expected.append(i).append(',');
+        }
+        assertEquals(expected.toString(), delivered.toString());
+    }
+
+    @Test
+    public void buffersGenericAndEmptyEvents() {
+        final List<Integer> values = new ArrayList<>();
+        final EventBuffer<Generic> generic = Generic.factory().buffer(new Generic() {
+            @Override
+            public <T extends Number> void onGeneric(final T value, final List<T> list) {
+                values.add(value.intValue());
+            }
+        }, 0);
+        generic.sink().onGeneric(3, List.of(3));
+        generic.sink().onGeneric(4, List.of());
+        generic.drain();
+        assertEquals(List.of(3, 4), values);
+        final int[] calls = {0};
+        final EventBuffer<Empty> empty = Empty.factory().buffer(() -> calls[0]++, 0);
+        for (int i = 0; i < 9; i++) {
+            empty.sink().onEmpty();
+        }
+        empty.drain();
+        assertEquals(9, calls[0]);
+    }
+
+    @Test
+    public void keepsTheUndeliveredTailAfterAThrowingDelegate() {
+        final List<Integer> delivered = new ArrayList<>();
+        final EventBuffer<Tick> buffer = Tick.factory().buffer((amount, label) -> {
+            delivered.add(amount);
+            if (amount == 1) {
+                throw new IllegalStateException();
+            }
+        }, 4);
+        buffer.sink().onTick(0, "");
+        buffer.sink().onTick(1, "");
+        buffer.sink().onTick(2, "");
+        assertThrows(IllegalStateException.class, buffer::drain);
+        assertEquals(1, buffer.size());
+        buffer.sink().onTick(3, "");
+        buffer.drain();
+        assertEquals(List.of(0, 1, 2, 3), delivered);
+    }
+
+    @Test
+    public void deliversEventsPushedWhileDraining() {
+        final List<Integer> delivered = new ArrayList<>();
+        final List<EventBuffer<Tick>> holder = new ArrayList<>();
+        holder.add(Tick.factory().buffer((amount, label) -> {
+            delivered.add(amount);
+            if (amount < 3) {
+                holder.get(0).sink().onTick(amount + 1, label);
+            }
+        }, 1));
+        holder.get(0).sink().onTick(0, "");
+        holder.get(0).drain();
+        assertEquals(List.of(0, 1, 2, 3), delivered);
+        assertEquals(0, holder.get(0).size());
+    }
+
+    @Test
+    public void coalescesByKey() {
+        final StringBuilder delivered = new StringBuilder();
+        final EventBuffer<Changed> buffer = Changed.factory().buffer((id, value) -> delivered.append(id).append(value), 2);
+        buffer.sink().onChanged(1, "a");
+        buffer.sink().onChanged(2, "b");
+        buffer.sink().onChanged(1, "c");
+        buffer.sink().onChanged(3, "d");
+        assertEquals(3, buffer.size());
+        buffer.drain();
+        assertEquals("1c2b3d", delivered.toString());
+        buffer.sink().onChanged(1, "e");
+        buffer.drain();
+        assertEquals("1c2b3d1e", delivered.toString());
+    }
+
+    @Test
+    public void keepsFirstOfIdenticalEvents() {
+        final StringBuilder delivered = new StringBuilder();
+        final EventBuffer<Kept> buffer = Kept.factory().buffer((id, value) -> delivered.append(id).append(value), 2);
+        buffer.sink().onKept(1, "a");
+        buffer.sink().onKept(1, "a");
+        buffer.sink().onKept(1, "b");
+        buffer.sink().onKept(1, null);
+        buffer.sink().onKept(1, null);
+        buffer.drain();
+        assertEquals("1a1b1null", delivered.toString());
+    }
+
+    @Test
+    public void coalescesAcrossTableGrowth() {
+        final List<String> delivered = new ArrayList<>();
+        final EventBuffer<Changed> buffer = Changed.factory().buffer((id, value) -> delivered.add(id + value), 1);
+        for (int i = 0; i < 1000; i++) {
+            buffer.sink().onChanged(i * 31, "a");
+        }
+        for (int i = 999; i >= 0; i--) {
+            buffer.sink().onChanged(i * 31, "b");
+        }
+        assertEquals(1000, buffer.size());
+        buffer.drain();
+        assertEquals(1000, delivered.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 31 + "b", delivered.get(i));
+        }
+    }
+
+    @Test
+    public void doesNotCoalesceIntoDeliveredEvents() {
+        final List<String> delivered = new ArrayList<>();
+        final List<EventBuffer<Changed>> holder = new ArrayList<>();
+        holder.add(Changed.factory().buffer((id, value) -> {
+            delivered.add(id + value);
+            if (value.length() < 3) {
+                holder.get(0).sink().onChanged(id, value + "+");
+                holder.get(0).sink().onChanged(id, value + "-");
+            }
+        }, 1));
+        holder.get(0).sink().onChanged(1, "a");
+        holder.get(0).sink().onChanged(2, "b");
+        holder.get(0).drain();
+        assertEquals(List.of("1a", "2b", "1a-", "2b-", "1a--", "2b--"), delivered);
+        assertEquals(0, holder.get(0).size());
+    }
+
+    @Test
+    public void comparesFloatingKeysLikeTheirBoxes() {
+        final List<String> delivered = new ArrayList<>();
+        final EventBuffer<Moved> buffer = Moved.factory().buffer((x, y) -> delivered.add(x + "," + y), 1);
+        buffer.sink().onMoved(Double.NaN, Float.NaN);
+        buffer.sink().onMoved(Double.NaN, Float.NaN);
+        buffer.sink().onMoved(0.0, 0.0F);
+        buffer.sink().onMoved(-0.0, 0.0F);
+        buffer.sink().onMoved(0.0, -0.0F);
+        buffer.sink().onMoved(0.0, 0.0F);
+        buffer.drain();
+        assertEquals(List.of("NaN,NaN", "0.0,0.0", "-0.0,0.0", "0.0,-0.0"), delivered);
+    }
+
+    @Test
+    public void coalescesIntoTheKeptTail() {
+        final List<String> delivered = new ArrayList<>();
+        final EventBuffer<Changed> buffer = Changed.factory().buffer((id, value) -> {
+            delivered.add(id + value);
+            if (value.equals("boom")) {
+                throw new IllegalStateException();
+            }
+        }, 2);
+        buffer.sink().onChanged(1, "boom");
+        buffer.sink().onChanged(2, "a");
+        buffer.sink().onChanged(3, "b");
+        assertThrows(IllegalStateException.class, buffer::drain);
+        assertEquals(2, buffer.size());
+        buffer.sink().onChanged(2, "c");
+        buffer.sink().onChanged(1, "d");
+        assertEquals(3, buffer.size());
+        buffer.drain();
+        assertEquals(List.of("1boom", "2c", "3b", "1d"), delivered);
+    }
+
+    @Test
+    public void rejectsEventsWithoutBuffering() {
+        assertThrows(UnsupportedOperationException.class, () -> Score.factory().buffer(base -> base, 1));
+    }
+}
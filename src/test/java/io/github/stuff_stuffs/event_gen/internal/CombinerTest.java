@@ -0,0 +1,59 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.events.gen.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CombinerTest {
+    @Test
+    public void sumsPrimitiveResults() {
+        assertEquals(0L, Total.factory().invoker(List.of()).onTotal(3));
+        final List<Total> listeners = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int offset = i;
+            listeners.add(value -> value + offset);
+        }
+        assertEquals(25L, Total.factory().invoker(listeners.subList(0, 5)).onTotal(3));
+        assertEquals(7L, Total.factory().invoker(listeners.subList(0, 2)).onTotal(3));
+    }
+
+    @Test
+    public void combinesBoxedResults() {
+        assertEquals(Integer.MIN_VALUE, Peak.factory().invoker(List.of()).onPeak(1));
+        final List<Peak> peaks = List.of(value -> value, value -> value * 3, value -> -value, value -> 2, value -> value + 1);
+        assertEquals(12, Peak.factory().invoker(peaks).onPeak(4));
+        assertEquals(12, Peak.factory().invoker(peaks.subList(0, 2)).onPeak(4));
+        final List<Stacked> stacks = List.of(value -> value, value -> (short) (value * 2), value -> (short) 1, value -> value);
+        assertEquals((short) 0, Stacked.factory().invoker(List.of()).onStacked((short) 5));
+        assertEquals((short) 21, Stacked.factory().invoker(stacks).onStacked((short) 5));
+        assertThrows(NullPointerException.class, () -> Peak.factory().invoker(List.of(value -> value, value -> null)).onPeak(1));
+    }
+
+    @Test
+    public void shortCircuitsBoxedBooleans() {
+        final List<Boolean> seen = new ArrayList<>();
+        final List<Any> listeners = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int index = i;
+            listeners.add((value, out) -> {
+                out.add(value);
+                return value && index == 1;
+            });
+        }
+        assertFalse(Any.factory().invoker(listeners).onAny(false, seen));
+        assertEquals(5, seen.size());
+        seen.clear();
+        assertTrue(Any.factory().invoker(listeners).onAny(true, seen));
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    public void keepsDefaultValuesVerbatim() {
+        assertEquals("$1", Labelled.factory().invoker(List.of()).onLabelled("a"));
+        assertEquals("$1ab", Labelled.factory().invoker(List.of(label -> label, label -> "b")).onLabelled("a"));
+    }
+}
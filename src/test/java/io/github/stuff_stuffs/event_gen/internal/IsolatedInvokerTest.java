@@ -0,0 +1,54 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class IsolatedInvokerTest {
+    @Test
+    public void quarantinesRepeatedFailures() {
+        final List<String> failures = new ArrayList<>();
+        final int[] calls = {0};
+        final Score failing = base -> {
+            calls[0]++;
+            throw new IllegalStateException("failing");
+        };
+        final Score invoker = Score.isolatedInvoker(new Score[]{base -> 1, failing, base -> 10, base -> {
+            throw new RuntimeException("worse");
+        }, base -> 100}, (event, listener, exception, quarantined) -> failures.add(exception.getMessage() + quarantined), 2);
+        assertEquals(111, invoker.onScore(0));
+        assertEquals(List.of("failingfalse", "worsefalse"), failures);
+        assertEquals(111, invoker.onScore(0));
+        assertEquals(List.of("failingfalse", "worsefalse", "failingtrue", "worsetrue"), failures);
+        assertEquals(111, invoker.onScore(0));
+        assertEquals(2, calls[0]);
+        assertEquals(4, failures.size());
+    }
+
+    @Test
+    public void keepsFailingListenersWithoutQuarantine() {
+        final List<Integer> calls = new ArrayList<>();
+        final Tick invoker = Tick.isolatedInvoker(new Tick[]{(amount, label) -> calls.add(amount), (amount, label) -> {
+            throw new RuntimeException();
+        }, (amount, label) -> calls.add(amount * 2)}, (event, listener, exception, quarantined) -> assertFalse(quarantined), 0);
+        invoker.onTick(3, "");
+        invoker.onTick(4, "");
+        assertEquals(List.of(3, 6, 4, 8), calls);
+    }
+
+    @Test
+    public void copiesTheListenerArray() {
+        final Score[] listeners = {base -> 1, base -> 2};
+        final Score invoker = Score.isolatedInvoker(listeners, (event, listener, exception, quarantined) -> {
+        }, 1);
+        Arrays.fill(listeners, (Score) base -> 100);
+        assertEquals(3, invoker.onScore(0));
+    }
+}
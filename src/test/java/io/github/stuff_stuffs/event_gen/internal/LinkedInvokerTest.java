@@ -0,0 +1,119 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventLink;
+import io.github.stuff_stuffs.event_gen.api.event.EventRegistry;
+import io.github.stuff_stuffs.event_gen.events.gen.Allow;
+import io.github.stuff_stuffs.event_gen.events.gen.Empty;
+import io.github.stuff_stuffs.event_gen.events.gen.Generic;
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkedInvokerTest {
+    @Test
+    public void combinesEverySize() {
+        for (int size = 0; size < 6; size++) {
+            final Score[] listeners = new Score[size];
+            int expected = 0;
+            for (int i = 0; i < size; i++) {
+                final int offset = i;
+                listeners[i] = base -> base + offset;
+                expected += 2 + i;
+            }
+            assertEquals(expected, Score.factory().link(listeners).invoker().onScore(2));
+        }
+    }
+
+    @Test
+    public void shortCircuits() {
+        final int[] calls = {0};
+        final Allow allow = Allow.factory().link(new Allow[]{subject -> {
+            calls[0]++;
+            return false;
+        }, subject -> {
+            calls[0]++;
+            return true;
+        }}).invoker();
+        assertFalse(allow.onAllow(null));
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void linksGenericEvents() {
+        final List<Number> seen = new ArrayList<>();
+        Generic.factory().link(new Generic[]{new Generic() {
+            @Override
+            public <T extends Number> void onGeneric(final T value, final List<T> values) {
+                seen.add(value);
+            }
+        }}).invoker().onGeneric(5, List.of());
+        assertEquals(List.of(5), seen);
+    }
+
+    @Test
+    public void keepsEachLinkIndependent() {
+        final EventLink<Score> first = Score.factory().link(new Score[]{base -> 1});
+        final EventLink<Score> second = Score.factory().link(new Score[]{base -> 10});
+        assertNotSame(first.invoker(), second.invoker());
+        assertEquals(1, first.invoker().onScore(0));
+        assertEquals(10, second.invoker().onScore(0));
+        final Score invoker = second.invoker();
+        second.relink(new Score[]{base -> 100, base -> 1000});
+        assertSame(invoker, second.invoker());
+        assertEquals(1100, invoker.onScore(0));
+        assertEquals(1, first.invoker().onScore(0));
+    }
+
+    @Test
+    public void keepsLinkedRegistriesIndependent() {
+        final EventRegistry.Entry<Tick, Tick.View> first = new EventRegistry(true, null).register(TestEventKeys.TICK_KEY);
+        final EventRegistry.Entry<Tick, Tick.View> second = new EventRegistry(true, null).register(TestEventKeys.TICK_KEY);
+        final List<String> calls = new ArrayList<>();
+        first.register((amount, label) -> calls.add("first"));
+        final Tick firstInvoker = first.invoker();
+        second.register((amount, label) -> calls.add("second"));
+        second.invoker().onTick(0, "");
+        firstInvoker.onTick(0, "");
+        assertEquals(List.of("second", "first"), calls);
+        first.register((amount, label) -> calls.add("added"));
+        assertSame(firstInvoker, first.invoker());
+        firstInvoker.onTick(0, "");
+        assertEquals(List.of("second", "first", "first", "added"), calls);
+    }
+
+    @Test
+    public void relinksOnRegistrationAlone() {
+        final EventRegistry.Entry<Score, Score.View> entry = new EventRegistry(true, null).register(TestEventKeys.SCORE_KEY);
+        final Score invoker = entry.invoker();
+        assertEquals(0, invoker.onScore(2));
+        final Score doubled = base -> base * 2;
+        entry.register(doubled);
+        assertEquals(4, invoker.onScore(2));
+        entry.register(base -> 1);
+        assertEquals(5, invoker.onScore(2));
+        assertTrue(entry.unregister(doubled));
+        assertEquals(1, invoker.onScore(2));
+    }
+
+    @Test
+    public void fallsBackForEventsWithoutLinking() {
+        assertTrue(Score.factory().supportsLinking());
+        assertFalse(Empty.factory().supportsLinking());
+        final EventRegistry.Entry<Empty, Empty.View> entry = new EventRegistry(true, null).register(TestEventKeys.EMPTY_KEY);
+        final int[] calls = {0};
+        entry.register(() -> calls[0]++);
+        entry.invoker().onEmpty();
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void rejectsEventsWithoutLinking() {
+        assertThrows(UnsupportedOperationException.class, () -> Empty.factory().link(new Empty[0]));
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventRegistry;
+import io.github.stuff_stuffs.event_gen.events.gen.Empty;
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObservedInvokerTest {
+    @Test
+    public void runsObserversInOneTaskAfterTheInvoker() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<String> calls = new ArrayList<>();
+        final Score observed = Score.factory().observed(base -> {
+            calls.add("invoker");
+            return base + 1;
+        }, new Score.View[]{base -> calls.add("first" + base), base -> calls.add("second" + base)}, tasks::add);
+        assertEquals(3, observed.onScore(2));
+        assertEquals(List.of("invoker"), calls);
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(List.of("invoker", "first2", "second2"), calls);
+    }
+
+    @Test
+    public void registersAndUnregistersObservers() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final EventRegistry.Entry<Score, Score.View> entry = new EventRegistry(false, tasks::add).register(TestEventKeys.SCORE_KEY);
+        final List<Integer> seen = new ArrayList<>();
+        final Score.View observer = seen::add;
+        entry.register(base -> base * 2);
+        entry.registerObserver(observer);
+        assertEquals(6, entry.invoker().onScore(3));
+        tasks.remove(0).run();
+        assertEquals(List.of(3), seen);
+        assertTrue(entry.unregisterObserver(observer));
+        assertFalse(entry.unregisterObserver(observer));
+        assertEquals(8, entry.invoker().onScore(4));
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void rejectsObserversAtRegistration() {
+        assertTrue(Score.factory().supportsObservers());
+        assertFalse(Empty.factory().supportsObservers());
+        final EventRegistry.Entry<Empty, Empty.View> entry = new EventRegistry(false, Runnable::run).register(TestEventKeys.EMPTY_KEY);
+        assertThrows(UnsupportedOperationException.class, () -> entry.registerObserver(() -> {
+        }));
+        final int[] calls = {0};
+        entry.register(() -> calls[0]++);
+        entry.invoker().onEmpty();
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void rejectsEventsWithoutObservers() {
+        assertThrows(UnsupportedOperationException.class, () -> Empty.factory().observed(() -> {
+        }, new Empty.View[0], Runnable::run));
+    }
+}
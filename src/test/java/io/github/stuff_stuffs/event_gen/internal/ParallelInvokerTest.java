@@ -0,0 +1,67 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Summed;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelInvokerTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void reducesEverySize() {
+        for (int size = 0; size < 40; size++) {
+            final Summed[] listeners = new Summed[size];
+            int expected = 0;
+            for (int i = 0; i < size; i++) {
+                final int factor = i + 1;
+                listeners[i] = value -> value * factor;
+                expected += 2 * factor;
+            }
+            assertEquals(expected, Summed.parallelInvoker(listeners, pool).onSummed(2), "size " + size);
+            assertEquals(expected, Summed.parallelInvoker(listeners, pool, 1).onSummed(2), "size " + size + " split fully");
+        }
+    }
+
+    @Test
+    public void runsInThePool() {
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final Summed[] listeners = new Summed[64];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = value -> {
+                threads.add(Thread.currentThread());
+                return 1;
+            };
+        }
+        assertEquals(64, Summed.parallelInvoker(listeners, pool, 1).onSummed(0));
+        assertTrue(threads.stream().anyMatch(thread -> thread != Thread.currentThread()));
+    }
+
+    @Test
+    public void copiesTheListeners() {
+        final Summed[] listeners = new Summed[8];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = value -> 1;
+        }
+        final Summed invoker = Summed.parallelInvoker(listeners, pool, 2);
+        listeners[0] = value -> 100;
+        assertEquals(8, invoker.onSummed(0));
+    }
+}
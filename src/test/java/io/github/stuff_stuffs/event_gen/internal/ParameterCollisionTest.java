@@ -0,0 +1,119 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventRoutes;
+import io.github.stuff_stuffs.event_gen.api.event.journal.EventJournal;
+import io.github.stuff_stuffs.event_gen.api.event.journal.EventReplayer;
+import io.github.stuff_stuffs.event_gen.events.gen.Collided;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//Collided names its parameters after the locals of every generated body, a body whose locals shadow or clash with them fails to compile or sums the wrong values.
+//The tracing and stats tasks run this too, so the traced and counted invokers are covered as well
+@Tag("collision")
+public class ParameterCollisionTest {
+    //Sum of the arguments passed by fire, 1 through 33
+    private static final int SUM = 33 * 34 / 2;
+    private static final AtomicInteger SEEN = new AtomicInteger();
+    @TempDir
+    private static Path directory;
+
+    @ParameterizedTest
+    @EnumSource(Kind.class)
+    public void passesEveryParameterThrough(final Kind kind) {
+        for (int size = 0; size < 6; size++) {
+            final Collided[] listeners = new Collided[size];
+            Arrays.fill(listeners, (Collided) ParameterCollisionTest::listen);
+            SEEN.set(0);
+            assertEquals(size * SUM, kind.total.applyAsInt(listeners), "size " + size);
+        }
+    }
+
+    private static int listen(final int event0, final int event1, final int event2, final int current, final int failures, final int handle, final int t, final int copy, final int observer, final int executor, final int out, final int journal, final int type, final int tracer, final int start, final int e, final int i, final int events, final int res, final int r, final int sequential, final int pool, final int threshold, final int fromIndex, final int toIndex, final int futures, final int event, final int invoker, final int listeners, final int delegate, final int consumer, final int view, final int routes) {
+        final int sum = event0 + event1 + event2 + current + failures + handle + t + copy + observer + executor + out + journal + type + tracer + start + e + i + events + res + r + sequential + pool + threshold + fromIndex + toIndex + futures + event + invoker + listeners + delegate + consumer + view + routes;
+        SEEN.addAndGet(sum);
+        return sum;
+    }
+
+    private static int fire(final Collided invoker) {
+        return invoker.onCollided(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33);
+    }
+
+    private static int fireAsync(final Collided.Async invoker) {
+        return invoker.onCollided(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33).join();
+    }
+
+    private static Collided.View[] views(final int size) {
+        final Collided.View[] views = new Collided.View[size];
+        Arrays.fill(views, (Collided.View) ParameterCollisionTest::listen);
+        return views;
+    }
+
+    //Kinds whose invoker returns nothing useful report what their listeners saw instead
+    public enum Kind {
+        SIZED(listeners -> fire(Collided.factory().invoker(listeners))),
+        LIST(listeners -> fire(Collided.factory().invoker(List.of(listeners)))),
+        ISOLATED(listeners -> fire(Collided.isolatedInvoker(listeners, (event, listener, exception, quarantined) -> {
+            throw new AssertionError(exception);
+        }, 1))),
+        LINKED(listeners -> fire(Collided.factory().link(listeners).invoker())),
+        PARALLEL(listeners -> fire(Collided.parallelInvoker(listeners, ForkJoinPool.commonPool(), 1))),
+        ASYNC(listeners -> fireAsync(Collided.async(listeners, ForkJoinPool.commonPool()))),
+        ROUTED(listeners -> {
+            final EventRoutes<Object, Collided> routes = EventRoutes.create(TestEventKeys.COLLIDED_KEY);
+            for (final Collided listener : listeners) {
+                routes.register(33, listener);
+            }
+            return fire(Collided.routed(routes));
+        }),
+        OBSERVED(listeners -> {
+            fire(Collided.factory().observed(Collided.factory().invoker(new Collided[0]), views(listeners.length), Runnable::run));
+            return SEEN.get();
+        }),
+        CONVERTED(listeners -> {
+            final Collided[] converted = new Collided[listeners.length];
+            Arrays.fill(converted, Collided.factory().convert(ParameterCollisionTest::listen));
+            fire(Collided.factory().invoker(converted));
+            return SEEN.get();
+        }),
+        DELAYED(listeners -> {
+            final List<Runnable> queue = new ArrayList<>();
+            fire(Collided.factory().delay(Collided.factory().invoker(listeners), queue::add));
+            queue.forEach(Runnable::run);
+            return SEEN.get();
+        }),
+        JOURNALED(listeners -> {
+            try {
+                final Path journalDirectory = Files.createTempDirectory(directory, "journal");
+                try (final EventJournal journal = EventJournal.open(journalDirectory, 1024)) {
+                    fire(Collided.codec().recorder(journal, 0, Collided.factory().invoker(new Collided[0])));
+                }
+                EventJournal.replay(journalDirectory, new EventReplayer().register(0, Collided.codec(), Collided.factory().invoker(listeners)));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return SEEN.get();
+        });
+
+        private final ToIntFunction<Collided[]> total;
+
+        Kind(final ToIntFunction<Collided[]> total) {
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Aggregating builds hand unchanged event sources back to the processor as class files, these compile a source first and then process its class
+public class ParameterNamesTest {
+    private static final String PLAIN = """
+            package sample;
+
+            import io.github.stuff_stuffs.event_gen.api.event.gen.*;
+
+            @EventPackageLocation("sample.gen")
+            @EventKeyLocation(location = "sample.gen.Keys")
+            public interface Events {
+                @EventInfo
+                void Moved(int entity, String reason);
+            }
+            """;
+    private static final String COALESCED = PLAIN.replace("@EventInfo", "@EventCoalescing(keys = \"entity\")\n    @EventInfo");
+
+    @Test
+    public void keepsNamesCompiledWithParameters(@TempDir final Path dir) throws IOException {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = processClass(dir, COALESCED, true);
+        assertTrue(diagnostics.stream().noneMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING || diagnostic.getKind() == Diagnostic.Kind.ERROR), diagnostics::toString);
+        assertTrue(Files.readString(dir.resolve("gen/sample/gen/Moved.java")).contains("void onMoved(int entity, String reason)"));
+    }
+
+    @Test
+    public void warnsAboutSyntheticNames(@TempDir final Path dir) throws IOException {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = processClass(dir, PLAIN, false);
+        assertTrue(diagnostics.stream().anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING && diagnostic.getMessage(null).contains("-parameters")), diagnostics::toString);
+    }
+
+    @Test
+    public void pointsMissingCoalescingKeysAtParameters(@TempDir final Path dir) {
+        final RuntimeException e = assertThrows(RuntimeException.class, () -> processClass(dir, COALESCED, false));
+        Throwable cause = e;
+        while (!(cause instanceof IllegalStateException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertTrue(cause.getMessage().contains("Unknown coalescing key: entity") && cause.getMessage().contains("-parameters"), cause::toString);
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> processClass(final Path dir, final String source, final boolean parameters) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final Path classes = Files.createDirectories(dir.resolve("classes"));
+        final Path generated = Files.createDirectories(dir.resolve("gen"));
+        final String classpath = System.getProperty("java.class.path");
+        final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///sample/Events.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        final List<String> options = new ArrayList<>(List.of("-proc:none", "-classpath", classpath, "-d", classes.toString()));
+        if (parameters) {
+            options.add("-parameters");
+        }
+        assertTrue(compiler.getTask(null, null, null, options, null, List.of(file)).call());
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+                null,
+                null,
+                diagnostics,
+                List.of("-proc:only", "-classpath", classpath + File.pathSeparator + classes, "-s", generated.toString()),
+                List.of("sample.Events"),
+                null
+        );
+        task.setProcessors(List.of(new EventGenerator()));
+        task.call();
+        return diagnostics.getDiagnostics();
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Vetoed;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortCircuitTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void setUp() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void builtinAndStopsAtTheFirstFalse() {
+        for (int size = 1; size < 8; size++) {
+            for (int veto = 0; veto < size; veto++) {
+                final AtomicIntegerArray calls = new AtomicIntegerArray(size);
+                final Vetoed[] listeners = listeners(calls, veto);
+                assertFalse(Vetoed.factory().invoker(listeners).onVetoed(0));
+                for (int i = 0; i < size; i++) {
+                    assertEquals(i <= veto ? 1 : 0, calls.get(i), "listener " + i + " of " + size + " vetoed at " + veto);
+                }
+            }
+            assertTrue(Vetoed.factory().invoker(listeners(new AtomicIntegerArray(size), -1)).onVetoed(0));
+        }
+    }
+
+    @Test
+    public void isolatedInvokerStopsAfterFailures() {
+        final List<Integer> calls = new ArrayList<>();
+        final Vetoed invoker = Vetoed.isolatedInvoker(new Vetoed[]{value -> {
+            calls.add(0);
+            throw new IllegalStateException();
+        }, value -> calls.add(1), value -> {
+            calls.add(2);
+            return false;
+        }, value -> calls.add(3)}, (event, listener, exception, quarantined) -> {
+        }, 0);
+        assertFalse(invoker.onVetoed(0));
+        assertEquals(List.of(0, 1, 2), calls);
+    }
+
+    @Test
+    public void parallelChunksStopAtTheirFirstFalse() {
+        final AtomicIntegerArray calls = new AtomicIntegerArray(4);
+        assertFalse(Vetoed.parallelInvoker(listeners(calls, 0), pool).onVetoed(0));
+        assertEquals(1, calls.get(0));
+        assertEquals(0, calls.get(1));
+        assertEquals(1, calls.get(2));
+        assertEquals(1, calls.get(3));
+        assertTrue(Vetoed.parallelInvoker(listeners(new AtomicIntegerArray(7), -1), pool).onVetoed(0));
+    }
+
+    private static Vetoed[] listeners(final AtomicIntegerArray calls, final int veto) {
+        final Vetoed[] listeners = new Vetoed[calls.length()];
+        for (int i = 0; i < listeners.length; i++) {
+            final int index = i;
+            listeners[i] = value -> {
+                calls.incrementAndGet(index);
+                return index != veto;
+            };
+        }
+        return listeners;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.events.gen.Allow;
+import io.github.stuff_stuffs.event_gen.events.gen.Empty;
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class SizedInvokerTest {
+    @Test
+    public void combinesEverySize() {
+        for (int size = 0; size < 8; size++) {
+            final List<Score> listeners = new ArrayList<>();
+            int expected = 0;
+            for (int i = 0; i < size; i++) {
+                final int factor = i + 1;
+                listeners.add(base -> base * factor);
+                expected += 2 * factor;
+            }
+            assertEquals(expected, Score.factory().invoker(listeners).onScore(2), "list of " + size);
+            assertEquals(expected, Score.factory().invoker(listeners.toArray(new Score[0])).onScore(2), "array of " + size);
+        }
+    }
+
+    @Test
+    public void callsVoidListenersInOrder() {
+        for (int size = 0; size < 8; size++) {
+            final List<Integer> calls = new ArrayList<>();
+            final List<Tick> listeners = new ArrayList<>();
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                final int index = i;
+                listeners.add((amount, label) -> calls.add(index + amount));
+                expected.add(i + 1);
+            }
+            Tick.factory().invoker(listeners).onTick(1, "");
+            assertEquals(expected, calls);
+        }
+        final int[] calls = {0};
+        Empty.factory().invoker(List.of(() -> calls[0]++, () -> calls[0]++, () -> calls[0]++, () -> calls[0]++, () -> calls[0]++)).onEmpty();
+        assertEquals(5, calls[0]);
+    }
+
+    @Test
+    public void shortCircuitsEverySize() {
+        for (int size = 1; size < 8; size++) {
+            final int[] calls = {0};
+            final List<Allow> listeners = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                final boolean allow = i != 0;
+                listeners.add(subject -> {
+                    calls[0]++;
+                    return allow;
+                });
+            }
+            assertFalse(Allow.factory().invoker(listeners).onAllow(null));
+            assertEquals(1, calls[0], "listeners called with " + size);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventTracing;
+import io.github.stuff_stuffs.event_gen.api.event.HistogramEventTracer;
+import io.github.stuff_stuffs.event_gen.events.gen.Allow;
+import io.github.stuff_stuffs.event_gen.events.gen.Score;
+import io.github.stuff_stuffs.event_gen.events.gen.Strict;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("tracing")
+public class TracedInvokerTest {
+    private HistogramEventTracer tracer;
+
+    @BeforeEach
+    public void setUp() {
+        assertTrue(EventTracing.ENABLED);
+        tracer = (HistogramEventTracer) EventTracing.tracer();
+        tracer.reset();
+    }
+
+    @Test
+    public void recordsLatenciesPerListener() {
+        final Score first = base -> base;
+        final Score second = base -> base * 2;
+        final Score invoker = Score.factory().invoker(List.of(first, second));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(6, invoker.onScore(2));
+        }
+        assertEquals(5, tracer.invocations(Score.class));
+        assertEquals(0, tracer.failures(Score.class));
+        assertEquals(5, Arrays.stream(tracer.latencyHistogram(Score.class, first)).sum());
+        assertEquals(5, Arrays.stream(tracer.latencyHistogram(Score.class, second)).sum());
+        assertEquals(0, Arrays.stream(tracer.latencyHistogram(Score.class, (Score) base -> base)).sum());
+    }
+
+    @Test
+    public void keepsListenersAtTheSameIndexOfDifferentInvokersApart() {
+        final Score first = base -> base;
+        final Score second = base -> base * 2;
+        Score.factory().invoker(List.of(first)).onScore(1);
+        final Score other = Score.factory().invoker(List.of(second));
+        other.onScore(1);
+        other.onScore(1);
+        assertEquals(1, Arrays.stream(tracer.latencyHistogram(Score.class, first)).sum());
+        assertEquals(2, Arrays.stream(tracer.latencyHistogram(Score.class, second)).sum());
+    }
+
+    @Test
+    public void doesNotRetainListeners() throws InterruptedException {
+        final WeakReference<Score> listener = traceOnce(1);
+        for (int i = 0; i < 100 && listener.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(listener.get());
+    }
+
+    @Test
+    public void reportsErrorsAsFailures() {
+        final Tick failing = (amount, label) -> {
+            throw new AssertionError(label);
+        };
+        final Tick invoker = Tick.factory().invoker(List.of(failing));
+        assertThrows(AssertionError.class, () -> invoker.onTick(1, "boom"));
+        assertEquals(1, tracer.failures(Tick.class));
+        assertEquals(0, Arrays.stream(tracer.latencyHistogram(Tick.class, failing)).sum());
+    }
+
+    @Test
+    public void combinerFailuresAreNotListenerFailures() {
+        final Strict second = value -> value;
+        final Strict invoker = Strict.factory().invoker(List.of(value -> value, second));
+        assertThrows(ArithmeticException.class, () -> invoker.onStrict(Integer.MAX_VALUE));
+        assertEquals(0, tracer.failures(Strict.class));
+        assertEquals(1, Arrays.stream(tracer.latencyHistogram(Strict.class, second)).sum());
+    }
+
+    @Test
+    public void shortCircuitsWhileTracing() {
+        final int[] calls = {0};
+        final Allow vetoing = subject -> {
+            calls[0]++;
+            return false;
+        };
+        final Allow skipped = subject -> {
+            calls[0]++;
+            return true;
+        };
+        final Allow invoker = Allow.factory().invoker(List.of(subject -> {
+            calls[0]++;
+            return true;
+        }, vetoing, skipped));
+        assertFalse(invoker.onAllow(null));
+        assertEquals(2, calls[0]);
+        assertEquals(1, Arrays.stream(tracer.latencyHistogram(Allow.class, vetoing)).sum());
+        assertEquals(0, Arrays.stream(tracer.latencyHistogram(Allow.class, skipped)).sum());
+    }
+
+    //Captures offset so the listener is a fresh instance rather than a cached non capturing lambda
+    private static WeakReference<Score> traceOnce(final int offset) {
+        final Score listener = base -> base + offset;
+        Score.factory().invoker(List.of(listener)).onScore(1);
+        return new WeakReference<>(listener);
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.stuff_stuffs.event_gen.internal;
+
+import io.github.stuff_stuffs.event_gen.api.event.EventStats;
+import io.github.stuff_stuffs.event_gen.events.gen.Sorted;
+import io.github.stuff_stuffs.event_gen.events.gen.TestEventKeys;
+import io.github.stuff_stuffs.event_gen.events.gen.Tick;
+import io.github.stuff_stuffs.event_gen.events.odd.keys_file;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class WrapperTest {
+    @Test
+    public void delayRunsOnlyOnceDrained() {
+        final List<Runnable> queue = new ArrayList<>();
+        final List<String> seen = new ArrayList<>();
+        final Tick delayed = Tick.factory().delay((amount, label) -> seen.add(label + amount), queue::add);
+        delayed.onTick(1, "x");
+        assertEquals(List.of(), seen);
+        queue.forEach(Runnable::run);
+        assertEquals(List.of("x1"), seen);
+    }
+
+    @Test
+    public void convertKeepsTheViewOrder() {
+        final Sorted.View view = new Sorted.View() {
+            @Override
+            public int ord() {
+                return 7;
+            }
+
+            @Override
+            public void onSorted(final int order, final List<Integer> out) {
+                out.add(order);
+            }
+        };
+        final Sorted converted = Sorted.factory().convert(view);
+        assertEquals(7, converted.ord());
+        final List<Integer> out = new ArrayList<>();
+        assertEquals(0, converted.onSorted(3, out));
+        assertEquals(List.of(3), out);
+    }
+
+    @Test
+    public void disabledStatsStayEmpty() {
+        assertFalse(EventStats.ENABLED);
+        Tick.factory().invoker(List.of((amount, label) -> {
+        })).onTick(0, "a");
+        TestEventKeys.STATS.fired(TestEventKeys.TICK_KEY, 1);
+        for (final EventStats.KeyStats stats : TestEventKeys.STATS.snapshot().keys()) {
+            assertEquals(0, stats.fires());
+        }
+        assertEquals(1, keys_file.KEYS.size());
+    }
+}